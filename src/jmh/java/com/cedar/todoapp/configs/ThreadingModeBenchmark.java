@@ -0,0 +1,81 @@
+package com.cedar.todoapp.configs;
+
+import org.openjdk.jmh.annotations.*;
+
+import javax.sql.DataSource;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(3)
+@State(Scope.Benchmark)
+public class ThreadingModeBenchmark {
+
+    private static final int POOL_SIZE = 10;
+    private static final int TOMCAT_MAX_THREADS = 200;
+
+    @Param({"platform", "virtual"})
+    private String mode;
+
+    @Param({"2000"})
+    private int requests;
+
+    @Param({"0", "20"})
+    private long ioMillis;
+
+    @Param({"1"})
+    private long queryMillis;
+
+    private ExecutorService executor;
+    private DataSource dataSource;
+
+    @Setup
+    public void setUp() throws ReflectiveOperationException {
+        executor = mode.equals("virtual")
+                ? (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null)
+                : Executors.newFixedThreadPool(TOMCAT_MAX_THREADS);
+
+        ClassLoader classLoader = getClass().getClassLoader();
+        Connection connection = (Connection) Proxy.newProxyInstance(
+                classLoader, new Class<?>[]{Connection.class}, (proxy, method, args) -> null);
+        DataSource pool = (DataSource) Proxy.newProxyInstance(
+                classLoader, new Class<?>[]{DataSource.class}, (proxy, method, args) -> connection);
+        dataSource = new ConnectionGateDataSource(pool, POOL_SIZE, 5000);
+    }
+
+    @TearDown
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Benchmark
+    public int burst() throws Exception {
+        List<Future<?>> futures = new ArrayList<>(requests);
+        for (int i = 0; i < requests; i++) {
+            futures.add(executor.submit(() -> {
+                handleRequest();
+                return null;
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        return futures.size();
+    }
+
+    private void handleRequest() throws Exception {
+        Thread.sleep(ioMillis);
+        try (Connection ignored = dataSource.getConnection()) {
+            Thread.sleep(queryMillis);
+        }
+    }
+}
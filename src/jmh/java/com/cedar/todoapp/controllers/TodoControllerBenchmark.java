@@ -0,0 +1,25 @@
+package com.cedar.todoapp.controllers;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.Pageable;
+
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(3)
+@State(Scope.Benchmark)
+public class TodoControllerBenchmark {
+
+    private final TodoController controller = new TodoController(null, null, null, null, null, null);
+
+    @Param({"id,asc", "dueDate,desc"})
+    private String sort;
+
+    @Benchmark
+    public Pageable createPageRequest() {
+        return controller.createPageRequest(3, 20, sort);
+    }
+}
@@ -0,0 +1,44 @@
+package com.cedar.todoapp.dtos;
+
+import com.cedar.todoapp.models.Priority;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(3)
+@State(Scope.Benchmark)
+public class PaginatedResponseSerializationBenchmark {
+
+    @Param({"10", "100"})
+    private int pageSize;
+
+    private ObjectMapper objectMapper;
+    private PaginatedResponse<TodoResponse> page;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json()
+                .filters(new SimpleFilterProvider().setFailOnUnknownId(false))
+                .build();
+        LocalDateTime dueDate = LocalDateTime.of(2030, 1, 1, 12, 0);
+        List<TodoResponse> content = IntStream.range(0, pageSize)
+                .mapToObj(i -> new TodoResponse(i, "Title " + i, "Description for todo " + i, dueDate, Priority.MEDIUM, i % 2 == 0))
+                .toList();
+        page = new PaginatedResponse<>(content, 0, pageSize, 1000L, 1000 / pageSize, false, null);
+    }
+
+    @Benchmark
+    public byte[] serialize() throws Exception {
+        return objectMapper.writeValueAsBytes(page);
+    }
+}
@@ -0,0 +1,48 @@
+package com.cedar.todoapp.mappers;
+
+import com.cedar.todoapp.dtos.CreateTodoRequest;
+import com.cedar.todoapp.dtos.TodoResponse;
+import com.cedar.todoapp.models.Priority;
+import com.cedar.todoapp.models.Todo;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(3)
+@State(Scope.Benchmark)
+public class TodoMapperBenchmark {
+
+    private final TodoMapper todoMapper = new TodoMapper();
+
+    private Todo todo;
+    private CreateTodoRequest request;
+
+    @Setup
+    public void setUp() {
+        LocalDateTime dueDate = LocalDateTime.of(2030, 1, 1, 12, 0);
+        todo = Todo.builder()
+                .id(1)
+                .title("Title")
+                .description("Description")
+                .dueDate(dueDate)
+                .priority(Priority.HIGH)
+                .completed(false)
+                .build();
+        request = new CreateTodoRequest("Title", "Description", dueDate, Priority.HIGH);
+    }
+
+    @Benchmark
+    public TodoResponse toResponse() {
+        return todoMapper.toResponse(todo);
+    }
+
+    @Benchmark
+    public Todo toEntity() {
+        return todoMapper.toEntity(request);
+    }
+}
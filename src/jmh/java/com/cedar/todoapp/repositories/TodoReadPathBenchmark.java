@@ -0,0 +1,104 @@
+package com.cedar.todoapp.repositories;
+
+import com.cedar.todoapp.dtos.TodoResponse;
+import com.cedar.todoapp.mappers.TodoMapper;
+import com.cedar.todoapp.models.Priority;
+import com.cedar.todoapp.models.Todo;
+import com.cedar.todoapp.models.User;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Session;
+import org.hibernate.cfg.Configuration;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.repository.support.JpaRepositoryFactory;
+import org.springframework.data.repository.core.support.RepositoryComposition.RepositoryFragments;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(3)
+@State(Scope.Benchmark)
+public class TodoReadPathBenchmark {
+
+    @Param({"20", "100"})
+    private int pageSize;
+
+    private final TodoMapper mapper = new TodoMapper();
+
+    private EntityManagerFactory entityManagerFactory;
+    private EntityManager entityManager;
+    private TodoRepository repository;
+    private Pageable pageable;
+    private Integer userId;
+
+    @Setup
+    public void setUp() {
+        entityManagerFactory = new Configuration()
+                .addAnnotatedClass(Todo.class)
+                .addAnnotatedClass(User.class)
+                .setProperty("hibernate.connection.url", "jdbc:h2:mem:read-path;MODE=MySQL;DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=USER;DB_CLOSE_DELAY=-1")
+                .setProperty("hibernate.connection.username", "sa")
+                .setProperty("hibernate.hbm2ddl.auto", "create-drop")
+                .setProperty("hibernate.jdbc.batch_size", "50")
+                .buildSessionFactory();
+        entityManager = entityManagerFactory.createEntityManager();
+        repository = new JpaRepositoryFactory(entityManager).getRepository(TodoRepository.class,
+                RepositoryFragments.just(new TodoFieldsRepositoryImpl(entityManager)));
+        pageable = PageRequest.of(0, pageSize, Sort.by("id"));
+
+        entityManager.getTransaction().begin();
+        User user = User.builder().fullName("Bench").email("bench@example.com").password("secret").build();
+        entityManager.persist(user);
+        for (int i = 0; i < 1000; i++) {
+            entityManager.persist(Todo.builder()
+                    .title("Todo " + i)
+                    .description("Description for todo " + i)
+                    .dueDate(LocalDateTime.of(2030, 1, 1, 12, 0).plusHours(i))
+                    .priority(Priority.values()[i % Priority.values().length])
+                    .completed(i % 3 == 0)
+                    .user(user)
+                    .build());
+        }
+        entityManager.getTransaction().commit();
+        entityManager.clear();
+        userId = user.getId();
+    }
+
+    @TearDown
+    public void tearDown() {
+        entityManager.close();
+        entityManagerFactory.close();
+    }
+
+    @Benchmark
+    public Page<TodoResponse> entityPage() {
+        entityManager.getTransaction().begin();
+        try {
+            return repository.findByUserId(userId, pageable, Todo.class).map(mapper::toResponse);
+        } finally {
+            entityManager.getTransaction().commit();
+            entityManager.clear();
+        }
+    }
+
+    @Benchmark
+    public Page<TodoResponse> projectionPage() {
+        entityManager.unwrap(Session.class).setDefaultReadOnly(true);
+        entityManager.getTransaction().begin();
+        try {
+            return repository.findByUserId(userId, pageable, TodoResponse.class);
+        } finally {
+            entityManager.getTransaction().commit();
+            entityManager.clear();
+            entityManager.unwrap(Session.class).setDefaultReadOnly(false);
+        }
+    }
+}
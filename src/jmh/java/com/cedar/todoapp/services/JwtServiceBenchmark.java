@@ -0,0 +1,58 @@
+package com.cedar.todoapp.services;
+
+import com.cedar.todoapp.models.User;
+import io.jsonwebtoken.Claims;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(3)
+@State(Scope.Benchmark)
+public class JwtServiceBenchmark {
+
+    static final String SECRET_KEY = "2ee657d85e2a97a2b8f456c6d61be4d469fff7b6be68c0d509a8cfe4c7947819";
+
+    private JwtService cachingService;
+    private JwtService uncachedService;
+    private User user;
+    private String token;
+
+    static JwtService jwtService(long cacheMaxSize) {
+        JwtService service = new JwtService();
+        ReflectionTestUtils.setField(service, "secretKey", SECRET_KEY);
+        ReflectionTestUtils.setField(service, "jwtExpiration", 3600000L);
+        ReflectionTestUtils.setField(service, "cacheMaxSize", cacheMaxSize);
+        service.init();
+        return service;
+    }
+
+    @Setup
+    public void setUp() {
+        cachingService = jwtService(10000);
+        uncachedService = jwtService(0);
+        user = User.builder().id(1).email("user@example.com").build();
+        token = cachingService.generateToken(user);
+        cachingService.validateToken(token);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return cachingService.generateToken(user);
+    }
+
+    @Benchmark
+    public Optional<Claims> validateTokenCached() {
+        return cachingService.validateToken(token);
+    }
+
+    @Benchmark
+    public Optional<Claims> validateTokenUncached() {
+        return uncachedService.validateToken(token);
+    }
+}
@@ -0,0 +1,47 @@
+package com.cedar.todoapp.services;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(3)
+@State(Scope.Benchmark)
+public class TodoSearchIndexBenchmark {
+
+    private static final int MATCHING_TODOS = 20;
+
+    @Param({"1000", "10000", "100000"})
+    private int todoCount;
+
+    private TodoSearchIndex searchIndex;
+
+    @Setup
+    public void setUp() {
+        searchIndex = new TodoSearchIndex(null, null);
+        ReflectionTestUtils.setField(searchIndex, "enabled", true);
+        ReflectionTestUtils.setField(searchIndex, "maxHits", 1000);
+        Random random = new Random(42);
+        int matchEvery = todoCount / MATCHING_TODOS;
+        for (int id = 0; id < todoCount; id++) {
+            String title = "task " + random.nextInt(100000) + (id % matchEvery == 0 ? " quarterly report" : "");
+            searchIndex.index(1, id, title, "note " + random.nextInt(50000) + " item");
+        }
+    }
+
+    @Benchmark
+    public List<Integer> searchExactTerm() {
+        return searchIndex.search(1, "quarterly");
+    }
+
+    @Benchmark
+    public List<Integer> searchPrefixTerms() {
+        return searchIndex.search(1, "quart rep");
+    }
+}
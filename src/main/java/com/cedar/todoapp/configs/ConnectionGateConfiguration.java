@@ -0,0 +1,50 @@
+package com.cedar.todoapp.configs;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+
+@Configuration
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class ConnectionGateConfiguration {
+
+    // Hikari still applies its own connection-timeout once a request is through the gate, so the gate gets a
+    // separate, shorter timeout and the worst case is the sum of the two rather than twice the Hikari budget.
+    @Bean
+    static BeanPostProcessor connectionGatePostProcessor(@Value("${todo.datasource.gate-timeout-ms:5000}") long gateTimeoutMs) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof HikariDataSource hikari) {
+                    return new ConnectionGateDataSource(hikari, hikari.getMaximumPoolSize(), gateTimeoutMs);
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    MeterBinder connectionGateMetrics(DataSource dataSource) throws SQLException {
+        ConnectionGateDataSource gate = dataSource.unwrap(ConnectionGateDataSource.class);
+        return registry -> {
+            Gauge.builder("db.gate.waiting", gate, ConnectionGateDataSource::getQueueLength)
+                    .register(registry);
+            Gauge.builder("db.gate.available", gate, ConnectionGateDataSource::getAvailablePermits)
+                    .register(registry);
+            FunctionTimer.builder("db.gate.wait", gate, ConnectionGateDataSource::getAcquiredCount,
+                            ConnectionGateDataSource::getWaitNanos, TimeUnit.NANOSECONDS)
+                    .register(registry);
+        };
+    }
+}
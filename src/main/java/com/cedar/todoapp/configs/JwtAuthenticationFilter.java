@@ -1,11 +1,15 @@
 package com.cedar.todoapp.configs;
 
+import com.cedar.todoapp.models.AuthenticatedUser;
 import com.cedar.todoapp.services.JwtService;
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
-import lombok.RequiredArgsConstructor;
 import org.springframework.lang.NonNull;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
@@ -18,14 +22,37 @@ import org.springframework.web.filter.OncePerRequestFilter;
 import org.springframework.web.servlet.HandlerExceptionResolver;
 
 import java.io.IOException;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 
 @Component
-@RequiredArgsConstructor
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
+    public static final String METRIC_NAME = "jwt.filter";
+    public static final String AUTH_FAILURES_METRIC = "auth.failures";
+
     private final HandlerExceptionResolver handlerExceptionResolver;
     private final JwtService jwtService;
     private final UserDetailsService userDetailsService;
+    private final Timer parseTimer;
+    private final Timer userLoadTimer;
+    private final Timer chainTimer;
+    private final Counter invalidTokenCounter;
+
+    public JwtAuthenticationFilter(
+            HandlerExceptionResolver handlerExceptionResolver,
+            JwtService jwtService,
+            UserDetailsService userDetailsService,
+            MeterRegistry meterRegistry
+    ) {
+        this.handlerExceptionResolver = handlerExceptionResolver;
+        this.jwtService = jwtService;
+        this.userDetailsService = userDetailsService;
+        this.parseTimer = phaseTimer(meterRegistry, "parse");
+        this.userLoadTimer = phaseTimer(meterRegistry, "user_load");
+        this.chainTimer = phaseTimer(meterRegistry, "chain");
+        this.invalidTokenCounter = meterRegistry.counter(AUTH_FAILURES_METRIC, "reason", "invalid_token");
+    }
 
     @Override
     protected void doFilterInternal(
@@ -36,25 +63,27 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         final String authHeader = request.getHeader("Authorization");
 
         if (authHeader == null || !authHeader.startsWith("Bearer ")) {
-            filterChain.doFilter(request, response);
+            doFilterTimed(request, response, filterChain);
             return;
         }
 
         try {
             final String jwt = authHeader.substring(7);
 
-            if (!jwtService.preValidateToken(jwt)) {
-                filterChain.doFilter(request, response);
+            final Optional<Claims> claims = parseTimer.record(() -> jwtService.validateToken(jwt));
+            if (claims.isEmpty()) {
+                invalidTokenCounter.increment();
+                doFilterTimed(request, response, filterChain);
                 return;
             }
 
-            final String userEmail = jwtService.extractUsername(jwt);
+            final String userEmail = claims.get().getSubject();
             Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
 
             if (userEmail != null && authentication == null) {
-                UserDetails userDetails = this.userDetailsService.loadUserByUsername(userEmail);
+                UserDetails userDetails = userLoadTimer.record(() -> resolvePrincipal(claims.get()));
 
-                if (jwtService.isTokenValid(jwt, userDetails)) {
+                if (jwtService.isTokenValid(claims.get(), userDetails)) {
                     UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
                             userDetails,
                             null,
@@ -66,9 +95,36 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                 }
             }
 
-            filterChain.doFilter(request, response);
+            doFilterTimed(request, response, filterChain);
         } catch (Exception exception) {
             handlerExceptionResolver.resolveException(request, response, null, exception);
         }
     }
+
+    private void doFilterTimed(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            FilterChain filterChain
+    ) throws ServletException, IOException {
+        long start = System.nanoTime();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            chainTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private static Timer phaseTimer(MeterRegistry meterRegistry, String phase) {
+        return Timer.builder(METRIC_NAME)
+                .tag("phase", phase)
+                .register(meterRegistry);
+    }
+
+    private UserDetails resolvePrincipal(Claims claims) {
+        Integer userId = jwtService.extractUserId(claims);
+        if (userId == null) {
+            return userDetailsService.loadUserByUsername(claims.getSubject());
+        }
+        return new AuthenticatedUser(userId, claims.getSubject());
+    }
 }
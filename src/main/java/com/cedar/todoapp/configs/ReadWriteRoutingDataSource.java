@@ -0,0 +1,108 @@
+package com.cedar.todoapp.configs;
+
+import com.cedar.todoapp.models.AuthenticatedUser;
+import com.cedar.todoapp.models.User;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+
+    public enum Target {
+        PRIMARY,
+        REPLICA
+    }
+
+    private static final String WRITERS_RESOURCE = ReadWriteRoutingDataSource.class.getName() + ".writers";
+
+    private final Cache<Integer, Boolean> recentWriters;
+
+    public ReadWriteRoutingDataSource(DataSource primary, DataSource replica, Duration readYourWrites) {
+        setTargetDataSources(Map.of(Target.PRIMARY, primary, Target.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        setLenientFallback(false);
+        afterPropertiesSet();
+        this.recentWriters = readYourWrites.isZero() || readYourWrites.isNegative()
+                ? null
+                : Caffeine.newBuilder().expireAfterWrite(readYourWrites).build();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            return Target.PRIMARY;
+        }
+        Integer userId = currentUserId();
+        if (TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return isRecentWriter(userId) ? Target.PRIMARY : Target.REPLICA;
+        }
+        if (recentWriters != null && TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    if (userId != null) {
+                        recentWriters.put(userId, Boolean.TRUE);
+                    }
+                    Set<Integer> writers = boundWriters();
+                    if (writers != null) {
+                        writers.forEach(writer -> recentWriters.put(writer, Boolean.TRUE));
+                    }
+                }
+            });
+        }
+        return Target.PRIMARY;
+    }
+
+    // Background writers such as the completion flusher have no security context, so they name the users they write for.
+    public static void recordWriters(Collection<Integer> userIds) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        Set<Integer> writers = boundWriters();
+        if (writers == null) {
+            writers = new HashSet<>();
+            TransactionSynchronizationManager.bindResource(WRITERS_RESOURCE, writers);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(WRITERS_RESOURCE);
+                }
+            });
+        }
+        writers.addAll(userIds);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Set<Integer> boundWriters() {
+        return (Set<Integer>) TransactionSynchronizationManager.getResource(WRITERS_RESOURCE);
+    }
+
+    private boolean isRecentWriter(Integer userId) {
+        return recentWriters != null && userId != null && recentWriters.getIfPresent(userId) != null;
+    }
+
+    private Integer currentUserId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null) {
+            return null;
+        }
+        if (authentication.getPrincipal() instanceof AuthenticatedUser authenticatedUser) {
+            return authenticatedUser.id();
+        }
+        if (authentication.getPrincipal() instanceof User user) {
+            return user.getId();
+        }
+        return null;
+    }
+}
@@ -0,0 +1,96 @@
+package com.cedar.todoapp.configs;
+
+import com.cedar.todoapp.models.RequestClass;
+import com.cedar.todoapp.services.RequestAdmissionService;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.core.annotation.Order;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerExceptionResolver;
+
+import java.io.IOException;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+@Component
+@Order(SecurityProperties.DEFAULT_FILTER_ORDER - 1)
+public class RequestAdmissionFilter extends OncePerRequestFilter {
+
+    private final HandlerExceptionResolver handlerExceptionResolver;
+    private final RequestAdmissionService admissionService;
+
+    public RequestAdmissionFilter(
+            HandlerExceptionResolver handlerExceptionResolver,
+            RequestAdmissionService admissionService
+    ) {
+        this.handlerExceptionResolver = handlerExceptionResolver;
+        this.admissionService = admissionService;
+    }
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain
+    ) throws ServletException, IOException {
+        Optional<RequestClass> requestClass = admissionService.classify(request.getMethod(), request.getRequestURI());
+        if (requestClass.isEmpty()) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        try {
+            admissionService.acquire(requestClass.get());
+        } catch (Exception exception) {
+            handlerExceptionResolver.resolveException(request, response, null, exception);
+            return;
+        }
+
+        AtomicBoolean released = new AtomicBoolean();
+        Runnable release = () -> {
+            if (released.compareAndSet(false, true)) {
+                admissionService.release(requestClass.get());
+            }
+        };
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            if (request.isAsyncStarted()) {
+                request.getAsyncContext().addListener(releaseOnCompletion(release));
+            } else {
+                release.run();
+            }
+        }
+    }
+
+    private AsyncListener releaseOnCompletion(Runnable release) {
+        return new AsyncListener() {
+            @Override
+            public void onComplete(AsyncEvent event) {
+                release.run();
+            }
+
+            @Override
+            public void onTimeout(AsyncEvent event) {
+                release.run();
+            }
+
+            @Override
+            public void onError(AsyncEvent event) {
+                release.run();
+            }
+
+            @Override
+            public void onStartAsync(AsyncEvent event) {
+                event.getAsyncContext().addListener(this);
+            }
+        };
+    }
+}
@@ -0,0 +1,43 @@
+package com.cedar.todoapp.configs;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+import static com.cedar.todoapp.models.Todo.*;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class TodoIdGeneratorInitializer implements SmartInitializingSingleton {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        transactionTemplate.executeWithoutResult(status -> {
+            long maxId = jdbcTemplate.queryForObject("select coalesce(max(id), 0) from todo", Long.class);
+            long floor = maxId + ID_ALLOCATION_SIZE + 1;
+
+            List<Long> current = jdbcTemplate.queryForList(
+                    "select next_val from " + ID_GENERATOR_TABLE + " where sequence_name = ? for update",
+                    Long.class, ID_GENERATOR_NAME);
+
+            if (current.isEmpty()) {
+                jdbcTemplate.update("insert into " + ID_GENERATOR_TABLE + " (sequence_name, next_val) values (?, ?)",
+                        ID_GENERATOR_NAME, floor);
+                log.info("Todo id generator seeded at {}", floor);
+            } else if (current.get(0) < floor) {
+                jdbcTemplate.update("update " + ID_GENERATOR_TABLE + " set next_val = ? where sequence_name = ?",
+                        floor, ID_GENERATOR_NAME);
+                log.info("Todo id generator moved from {} to {}", current.get(0), floor);
+            }
+        });
+    }
+}
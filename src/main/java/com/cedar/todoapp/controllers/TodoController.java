@@ -1,18 +1,48 @@
 package com.cedar.todoapp.controllers;
 
+import com.cedar.todoapp.dtos.BatchCompletionRequest;
+import com.cedar.todoapp.dtos.BatchRequest;
+import com.cedar.todoapp.dtos.BatchResponse;
 import com.cedar.todoapp.dtos.CreateTodoRequest;
+import com.cedar.todoapp.dtos.ImportResponse;
 import com.cedar.todoapp.dtos.PaginatedResponse;
 import com.cedar.todoapp.dtos.TodoResponse;
+import com.cedar.todoapp.dtos.TodoStatsResponse;
 import com.cedar.todoapp.dtos.UpdateTodoRequest;
+import com.cedar.todoapp.dtos.VersionedTodoResponse;
+import com.cedar.todoapp.mappers.CursorMapper;
+import com.cedar.todoapp.mappers.ETagMapper;
+import com.cedar.todoapp.mappers.TodoFieldsMapper;
+import com.cedar.todoapp.models.TodoField;
+import com.cedar.todoapp.services.TodoImportService;
 import com.cedar.todoapp.services.TodoService;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
 
 @RestController
 @RequestMapping("/api/v1/todos")
@@ -20,6 +50,15 @@ import org.springframework.web.bind.annotation.*;
 public class TodoController {
 
     private final TodoService service;
+    private final TodoImportService importService;
+    private final CursorMapper cursorMapper;
+    private final ETagMapper etagMapper;
+    private final TodoFieldsMapper fieldsMapper;
+    private final ObjectMapper objectMapper;
+
+    private static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+    private static final int EXPORT_FLUSH_INTERVAL = 100;
+    private static final Sort DUE_DATE_SORT = Sort.by("dueDate", "id");
 
     @PostMapping
     public ResponseEntity<Integer> create(@RequestBody @Valid CreateTodoRequest request) {
@@ -27,14 +66,100 @@ public class TodoController {
     }
 
     @PutMapping
-    public ResponseEntity<Void> update(@RequestBody @Valid UpdateTodoRequest request) {
-        service.updateTodo(request);
+    public ResponseEntity<Void> update(
+            @RequestBody @Valid UpdateTodoRequest request,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        service.updateTodo(request, etagMapper.parseTodoVersions(ifMatch, request.id(), true));
         return ResponseEntity.noContent().build();
     }
 
+    @PostMapping("/batch")
+    public ResponseEntity<BatchResponse> createBatch(@RequestBody @Valid BatchRequest<CreateTodoRequest> request) {
+        return ResponseEntity.ok(service.createTodos(request.items()));
+    }
+
+    @PutMapping("/batch")
+    public ResponseEntity<BatchResponse> updateBatch(@RequestBody @Valid BatchRequest<UpdateTodoRequest> request) {
+        return ResponseEntity.ok(service.updateTodos(request.items()));
+    }
+
+    @PatchMapping("/batch/completion")
+    public ResponseEntity<BatchResponse> updateCompletionStatusBatch(@RequestBody @Valid BatchCompletionRequest request) {
+        return ResponseEntity.ok(service.updateTodoCompletionStatuses(request.ids(), request.completed()));
+    }
+
+    @DeleteMapping("/batch")
+    public ResponseEntity<BatchResponse> deleteBatch(@RequestBody @Valid BatchRequest<Integer> request) {
+        return ResponseEntity.ok(service.deleteTodos(request.items()));
+    }
+
+    @PostMapping(value = "/import", consumes = "application/x-ndjson")
+    public ResponseEntity<ImportResponse> importNdjson(InputStream body) throws IOException {
+        return ResponseEntity.ok(importService.importNdjson(body));
+    }
+
+    @PostMapping(value = "/import", consumes = "text/csv")
+    public ResponseEntity<ImportResponse> importCsv(InputStream body) throws IOException {
+        return ResponseEntity.ok(importService.importCsv(body));
+    }
+
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> export(@RequestParam(defaultValue = "ndjson") String format) {
+        boolean jsonArray = "json".equalsIgnoreCase(format);
+
+        StreamingResponseBody body = outputStream -> {
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)) {
+                AtomicInteger written = new AtomicInteger();
+                if (jsonArray) {
+                    generator.writeStartArray();
+                }
+                service.exportTodos(todo -> writeExportItem(generator, todo, jsonArray, written.incrementAndGet()));
+                if (jsonArray) {
+                    generator.writeEndArray();
+                }
+            }
+        };
+
+        return ResponseEntity.ok()
+                .contentType(jsonArray ? MediaType.APPLICATION_JSON : NDJSON)
+                .body(body);
+    }
+
+    @GetMapping("/overdue")
+    public ResponseEntity<PaginatedResponse<TodoResponse>> getOverdueTodos(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size) {
+
+        return buildPaginatedResponse(service.findOverdueTodos(createDueDatePageRequest(page, size)));
+    }
+
+    @GetMapping("/upcoming")
+    public ResponseEntity<PaginatedResponse<TodoResponse>> getUpcomingTodos(
+            @RequestParam(defaultValue = "P7D") Duration within,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size) {
+
+        return buildPaginatedResponse(service.findUpcomingTodos(within, createDueDatePageRequest(page, size)));
+    }
+
+    @GetMapping("/stats")
+    public ResponseEntity<TodoStatsResponse> getStats() {
+        return ResponseEntity.ok(service.getTodoStats());
+    }
+
     @GetMapping("/{todoId}")
-    public ResponseEntity<TodoResponse> findById(@PathVariable Integer todoId) {
-        return ResponseEntity.ok(service.findByIdAndUser(todoId));
+    public ResponseEntity<TodoResponse> findById(
+            @PathVariable Integer todoId,
+            @RequestParam(required = false) String fields,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        Set<TodoField> fieldSet = fieldsMapper.toFields(fields);
+        VersionedTodoResponse todo = service.findByIdAndUser(todoId, fieldSet);
+        String etag = etagMapper.toTodoTag(todoId, todo.version(), fieldSet + ";" + accept);
+        if (etagMapper.matches(ifNoneMatch, etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).varyBy(HttpHeaders.ACCEPT).build();
+        }
+        return ResponseEntity.ok().eTag(etag).varyBy(HttpHeaders.ACCEPT).body(todo.todo());
     }
 
     @DeleteMapping("/{todoId}")
@@ -47,11 +172,24 @@ public class TodoController {
     public ResponseEntity<PaginatedResponse<TodoResponse>> findAllTodos(
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
-            @RequestParam(defaultValue = "id,asc") String sort) {
+            @RequestParam(defaultValue = "id,asc") String sort,
+            @RequestParam(required = false) String after,
+            @RequestParam(required = false) String fields,
+            @RequestParam(defaultValue = "true") boolean withTotal,
+            HttpServletRequest request) {
+
+        Set<TodoField> fieldSet = fieldsMapper.toFields(fields);
+        return withListETag(request, () -> {
+            if (after != null) {
+                Sort order = createSort(sort);
+                Window<TodoResponse> todos = service.findAllTodos(createScrollPosition(after, order), createLimit(size), order, fieldSet);
+                return buildCursorResponse(todos, size);
+            }
 
-        Pageable pageable = createPageRequest(page, size, sort);
-        Page<TodoResponse> todos = service.findAllTodos(pageable);
-        return buildPaginatedResponse(todos);
+            Pageable pageable = createPageRequest(page, size, sort);
+            Slice<TodoResponse> todos = service.findAllTodos(pageable, fieldSet, withTotal);
+            return buildPaginatedResponse(todos);
+        });
     }
 
     @GetMapping("/search")
@@ -59,11 +197,27 @@ public class TodoController {
             @RequestParam String keyword,
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
-            @RequestParam(defaultValue = "id,asc") String sort) {
+            @RequestParam(defaultValue = TodoService.RELEVANCE_SORT) String sort,
+            @RequestParam(required = false) String after,
+            @RequestParam(required = false) String fields,
+            @RequestParam(defaultValue = "true") boolean withTotal,
+            HttpServletRequest request) {
 
-        Pageable pageable = createPageRequest(page, size, sort);
-        Page<TodoResponse> todos = service.searchTodos(keyword, pageable);
-        return buildPaginatedResponse(todos);
+        Set<TodoField> fieldSet = fieldsMapper.toFields(fields);
+        return withListETag(request, () -> {
+            if (after != null) {
+                Sort order = createSort(sort);
+                if (order.getOrderFor(TodoService.RELEVANCE_SORT) != null) {
+                    order = Sort.by("id");
+                }
+                Window<TodoResponse> todos = service.searchTodos(keyword, createScrollPosition(after, order), createLimit(size), order, fieldSet);
+                return buildCursorResponse(todos, size);
+            }
+
+            Pageable pageable = createPageRequest(page, size, sort);
+            Slice<TodoResponse> todos = service.searchTodos(keyword, pageable, fieldSet, withTotal);
+            return buildPaginatedResponse(todos);
+        });
     }
 
     @GetMapping("/status")
@@ -71,11 +225,24 @@ public class TodoController {
             @RequestParam boolean completed,
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
-            @RequestParam(defaultValue = "id,asc") String sort) {
+            @RequestParam(defaultValue = "id,asc") String sort,
+            @RequestParam(required = false) String after,
+            @RequestParam(required = false) String fields,
+            @RequestParam(defaultValue = "true") boolean withTotal,
+            HttpServletRequest request) {
+
+        Set<TodoField> fieldSet = fieldsMapper.toFields(fields);
+        return withListETag(request, () -> {
+            if (after != null) {
+                Sort order = createSort(sort);
+                Window<TodoResponse> todos = service.findTodosByCompletionStatus(completed, createScrollPosition(after, order), createLimit(size), order, fieldSet);
+                return buildCursorResponse(todos, size);
+            }
 
-        Pageable pageable = createPageRequest(page, size, sort);
-        Page<TodoResponse> todos = service.findTodosByCompletionStatus(completed, pageable);
-        return buildPaginatedResponse(todos);
+            Pageable pageable = createPageRequest(page, size, sort);
+            Slice<TodoResponse> todos = service.findTodosByCompletionStatus(completed, pageable, fieldSet, withTotal);
+            return buildPaginatedResponse(todos);
+        });
     }
 
     @PatchMapping("/{todoId}/completion")
@@ -87,26 +254,90 @@ public class TodoController {
         return ResponseEntity.noContent().build();
     }
 
-    private Pageable createPageRequest(int page, int size, String sort) {
+    private void writeExportItem(JsonGenerator generator, TodoResponse todo, boolean jsonArray, int count) {
+        try {
+            generator.writeObject(todo);
+            if (!jsonArray) {
+                generator.writeRaw('\n');
+            }
+            if (count % EXPORT_FLUSH_INTERVAL == 0) {
+                generator.flush();
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    Pageable createPageRequest(int page, int size, String sort) {
         page = Math.max(page, 0);
         size = Math.max(size, 1);
 
+        return PageRequest.of(page, size, createSort(sort));
+    }
+
+    private Pageable createDueDatePageRequest(int page, int size) {
+        return PageRequest.of(Math.max(page, 0), Math.max(size, 1), DUE_DATE_SORT);
+    }
+
+    private Sort createSort(String sort) {
         String[] sortParams = sort.split(",");
         Sort.Direction direction = Sort.Direction.fromString(sortParams.length > 1 ? sortParams[1] : "asc");
         String property = sortParams[0];
 
-        return PageRequest.of(page, size, Sort.by(direction, property));
+        return Sort.by(direction, property);
     }
 
-    private ResponseEntity<PaginatedResponse<TodoResponse>> buildPaginatedResponse(Page<TodoResponse> pageData) {
+    private Limit createLimit(int size) {
+        return Limit.of(Math.max(size, 1));
+    }
+
+    private ScrollPosition createScrollPosition(String after, Sort sort) {
+        String property = sort.iterator().next().getProperty();
+        return cursorMapper.toScrollPosition(after, property);
+    }
+
+    private ResponseEntity<PaginatedResponse<TodoResponse>> withListETag(
+            HttpServletRequest request,
+            Supplier<ResponseEntity<PaginatedResponse<TodoResponse>>> query) {
+        String etag = etagMapper.toListTag(requestTarget(request), service.getCollectionStamp());
+        if (etagMapper.matches(request.getHeader(HttpHeaders.IF_NONE_MATCH), etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).varyBy(HttpHeaders.ACCEPT).build();
+        }
+
+        ResponseEntity<PaginatedResponse<TodoResponse>> response = query.get();
+        return ResponseEntity.status(response.getStatusCode()).eTag(etag).varyBy(HttpHeaders.ACCEPT).body(response.getBody());
+    }
+
+    private String requestTarget(HttpServletRequest request) {
+        String query = request.getQueryString();
+        return query == null ? request.getRequestURI() : request.getRequestURI() + "?" + query;
+    }
+
+    private ResponseEntity<PaginatedResponse<TodoResponse>> buildPaginatedResponse(Slice<TodoResponse> pageData) {
+        Page<TodoResponse> page = pageData instanceof Page<TodoResponse> total ? total : null;
         PaginatedResponse<TodoResponse> response = new PaginatedResponse<>(
                 pageData.getContent(),
                 pageData.getNumber(),
                 pageData.getSize(),
-                pageData.getTotalElements(),
-                pageData.getTotalPages(),
-                pageData.isLast()
+                page != null ? page.getTotalElements() : null,
+                page != null ? page.getTotalPages() : null,
+                pageData.isLast(),
+                null
         );
         return pageData.isEmpty() ? ResponseEntity.noContent().build() : ResponseEntity.ok(response);
     }
+
+    private ResponseEntity<PaginatedResponse<TodoResponse>> buildCursorResponse(Window<TodoResponse> window, int size) {
+        String nextCursor = window.hasNext() ? cursorMapper.toCursor(window.positionAt(window.size() - 1)) : null;
+        PaginatedResponse<TodoResponse> response = new PaginatedResponse<>(
+                window.getContent(),
+                null,
+                Math.max(size, 1),
+                null,
+                null,
+                window.isLast(),
+                nextCursor
+        );
+        return window.isEmpty() ? ResponseEntity.noContent().build() : ResponseEntity.ok(response);
+    }
 }
@@ -0,0 +1,17 @@
+package com.cedar.todoapp.dtos;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public record BatchCompletionRequest(
+        @NotEmpty(message = "IDs are required")
+        @Size(max = 500, message = "A batch must contain 500 items or fewer")
+        List<Integer> ids,
+
+        @NotNull(message = "Completed is required")
+        Boolean completed
+) {
+}
@@ -0,0 +1,12 @@
+package com.cedar.todoapp.dtos;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record BatchItemResult(
+        int index,
+        Integer id,
+        int status,
+        String error
+) {
+}
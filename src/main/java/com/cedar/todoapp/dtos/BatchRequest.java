@@ -0,0 +1,13 @@
+package com.cedar.todoapp.dtos;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public record BatchRequest<T>(
+        @NotEmpty(message = "Items are required")
+        @Size(max = 500, message = "A batch must contain 500 items or fewer")
+        List<T> items
+) {
+}
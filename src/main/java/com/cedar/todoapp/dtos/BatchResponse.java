@@ -0,0 +1,14 @@
+package com.cedar.todoapp.dtos;
+
+import java.util.List;
+
+public record BatchResponse(
+        int succeeded,
+        int failed,
+        List<BatchItemResult> results
+) {
+    public static BatchResponse of(List<BatchItemResult> results) {
+        int failed = (int) results.stream().filter(result -> result.status() >= 400).count();
+        return new BatchResponse(results.size() - failed, failed, results);
+    }
+}
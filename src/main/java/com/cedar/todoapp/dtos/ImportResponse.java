@@ -0,0 +1,10 @@
+package com.cedar.todoapp.dtos;
+
+import java.util.List;
+
+public record ImportResponse(
+        long accepted,
+        long rejected,
+        List<ImportRowError> errors
+) {
+}
@@ -0,0 +1,7 @@
+package com.cedar.todoapp.dtos;
+
+public record ImportRowError(
+        long row,
+        String error
+) {
+}
@@ -1,13 +1,16 @@
 package com.cedar.todoapp.dtos;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+
 import java.util.List;
 
+@JsonInclude(JsonInclude.Include.NON_NULL)
 public record PaginatedResponse<T>(
         List<T> content,
-        int pageNumber,
+        Integer pageNumber,
         int pageSize,
-        long totalElements,
-        int totalPages,
-        boolean last) {
+        Long totalElements,
+        Integer totalPages,
+        boolean last,
+        String nextCursor) {
 }
-
@@ -1,9 +1,11 @@
 package com.cedar.todoapp.dtos;
 
 import com.cedar.todoapp.models.Priority;
+import com.fasterxml.jackson.annotation.JsonFilter;
 
 import java.time.LocalDateTime;
 
+@JsonFilter(TodoResponse.FIELDS_FILTER)
 public record TodoResponse(
         Integer id,
         String title,
@@ -12,4 +14,5 @@ public record TodoResponse(
         Priority priority,
         boolean completed
 ) {
+    public static final String FIELDS_FILTER = "todoFields";
 }
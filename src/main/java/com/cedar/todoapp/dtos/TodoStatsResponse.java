@@ -0,0 +1,16 @@
+package com.cedar.todoapp.dtos;
+
+import com.cedar.todoapp.models.Priority;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+public record TodoStatsResponse(
+        long total,
+        long completed,
+        long open,
+        long overdue,
+        Map<Priority, Long> byPriority,
+        LocalDateTime overdueAsOf
+) {
+}
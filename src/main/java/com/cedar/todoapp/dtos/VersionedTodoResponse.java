@@ -0,0 +1,16 @@
+package com.cedar.todoapp.dtos;
+
+import com.cedar.todoapp.models.Priority;
+
+import java.time.LocalDateTime;
+
+public record VersionedTodoResponse(
+        TodoResponse todo,
+        Long version
+) {
+
+    public VersionedTodoResponse(Integer id, String title, String description, LocalDateTime dueDate,
+                                 Priority priority, Boolean completed, Long version) {
+        this(new TodoResponse(id, title, description, dueDate, priority, completed), version);
+    }
+}
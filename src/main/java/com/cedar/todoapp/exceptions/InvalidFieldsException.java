@@ -0,0 +1,10 @@
+package com.cedar.todoapp.exceptions;
+
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+
+@EqualsAndHashCode(callSuper = true)
+@Data
+public class InvalidFieldsException extends RuntimeException {
+    private final String msg;
+}
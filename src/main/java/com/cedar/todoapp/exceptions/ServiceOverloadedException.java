@@ -0,0 +1,11 @@
+package com.cedar.todoapp.exceptions;
+
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+
+@EqualsAndHashCode(callSuper = true)
+@Data
+public class ServiceOverloadedException extends RuntimeException {
+    private final String msg;
+    private final long retryAfterSeconds;
+}
@@ -1,13 +1,23 @@
 package com.cedar.todoapp.handlers;
 
+import com.cedar.todoapp.configs.JwtAuthenticationFilter;
+import com.cedar.todoapp.exceptions.InvalidCursorException;
+import com.cedar.todoapp.exceptions.InvalidFieldsException;
+import com.cedar.todoapp.exceptions.PasswordHashingUnavailableException;
+import com.cedar.todoapp.exceptions.ServiceOverloadedException;
 import com.cedar.todoapp.exceptions.TodoNotFoundException;
+import com.cedar.todoapp.exceptions.TodoVersionMismatchException;
 import com.cedar.todoapp.exceptions.UserNotFoundException;
 import com.cedar.todoapp.exceptions.UsernameAlreadyExistsException;
 import io.jsonwebtoken.ExpiredJwtException;
 import io.jsonwebtoken.security.SignatureException;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.authentication.AccountStatusException;
 import org.springframework.security.authentication.BadCredentialsException;
@@ -22,17 +32,39 @@ import java.util.Map;
 import static org.springframework.http.HttpStatus.BAD_REQUEST;
 
 @RestControllerAdvice
+@RequiredArgsConstructor
 @Slf4j
 public class GlobalExceptionHandler {
 
+    public static final String NOT_FOUND_METRIC = "api.not_found";
+
+    private final MeterRegistry meterRegistry;
+
     @ExceptionHandler(TodoNotFoundException.class)
     public ResponseEntity<String> handleTodoNotFound(TodoNotFoundException ex) {
         log.error("Todo Not Found Exception: {}", ex.getMessage(), ex);
+        countNotFound("todo");
         return ResponseEntity
                 .status(HttpStatus.NOT_FOUND)
                 .body(ex.getMsg());
     }
 
+    @ExceptionHandler(TodoVersionMismatchException.class)
+    public ResponseEntity<String> handleTodoVersionMismatch(TodoVersionMismatchException ex) {
+        log.warn("Todo version mismatch: {}", ex.getMsg());
+        return ResponseEntity
+                .status(HttpStatus.PRECONDITION_FAILED)
+                .body(ex.getMsg());
+    }
+
+    @ExceptionHandler(ObjectOptimisticLockingFailureException.class)
+    public ResponseEntity<String> handleOptimisticLockingFailure(ObjectOptimisticLockingFailureException ex) {
+        log.warn("Concurrent modification: {}", ex.getMessage());
+        return ResponseEntity
+                .status(HttpStatus.CONFLICT)
+                .body("The todo was modified concurrently, please retry.");
+    }
+
     @ExceptionHandler(UsernameAlreadyExistsException.class)
     public ResponseEntity<String> handleUsernameAlreadyExistsException(UsernameAlreadyExistsException ex) {
         log.error("Username already exists: {}", ex.getMessage(), ex);
@@ -44,11 +76,46 @@ public class GlobalExceptionHandler {
     @ExceptionHandler(UserNotFoundException.class)
     public ResponseEntity<String> handleUserNotFound(UserNotFoundException ex) {
         log.error("User Not Found Exception: {}", ex.getMessage(), ex);
+        countNotFound("user");
         return ResponseEntity
                 .status(HttpStatus.NOT_FOUND)
                 .body(ex.getMsg());
     }
 
+    @ExceptionHandler(InvalidCursorException.class)
+    public ResponseEntity<String> handleInvalidCursor(InvalidCursorException ex) {
+        log.error("Invalid cursor: {}", ex.getMessage(), ex);
+        return ResponseEntity
+                .status(BAD_REQUEST)
+                .body(ex.getMsg());
+    }
+
+    @ExceptionHandler(InvalidFieldsException.class)
+    public ResponseEntity<String> handleInvalidFields(InvalidFieldsException ex) {
+        log.warn("Invalid fields: {}", ex.getMsg());
+        return ResponseEntity
+                .status(BAD_REQUEST)
+                .body(ex.getMsg());
+    }
+
+    @ExceptionHandler(PasswordHashingUnavailableException.class)
+    public ResponseEntity<String> handlePasswordHashingUnavailable(PasswordHashingUnavailableException ex) {
+        log.warn("Password hashing unavailable: {}", ex.getMsg());
+        return ResponseEntity
+                .status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(ex.getMsg());
+    }
+
+    @ExceptionHandler(ServiceOverloadedException.class)
+    public ResponseEntity<String> handleServiceOverloaded(ServiceOverloadedException ex) {
+        log.warn("Request shed: {}", ex.getMsg());
+        return ResponseEntity
+                .status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                .body(ex.getMsg());
+    }
+
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<Map<String, String>> handleMethodArgumentNotValidException(MethodArgumentNotValidException ex) {
         var errors = new HashMap<String, String>();
@@ -67,6 +134,7 @@ public class GlobalExceptionHandler {
     @ExceptionHandler(BadCredentialsException.class)
     public ResponseEntity<String> handleBadCredentials(BadCredentialsException ex) {
         log.error("Bad credentials: {}", ex.getMessage(), ex);
+        countAuthFailure("bad_credentials");
         return ResponseEntity
                 .status(HttpStatus.UNAUTHORIZED)
                 .body("The username or password is incorrect.");
@@ -75,6 +143,7 @@ public class GlobalExceptionHandler {
     @ExceptionHandler(AccountStatusException.class)
     public ResponseEntity<String> handleAccountStatus(AccountStatusException ex) {
         log.error("Account status issue: {}", ex.getMessage(), ex);
+        countAuthFailure("account_status");
         return ResponseEntity
                 .status(HttpStatus.FORBIDDEN)
                 .body("The account is locked.");
@@ -83,6 +152,7 @@ public class GlobalExceptionHandler {
     @ExceptionHandler(AccessDeniedException.class)
     public ResponseEntity<String> handleAccessDenied(AccessDeniedException ex) {
         log.error("Access denied: {}", ex.getMessage(), ex);
+        countAuthFailure("access_denied");
         return ResponseEntity
                 .status(HttpStatus.FORBIDDEN)
                 .body("You are not authorized to access this resource.");
@@ -91,6 +161,7 @@ public class GlobalExceptionHandler {
     @ExceptionHandler(SignatureException.class)
     public ResponseEntity<String> handleSignatureException(SignatureException ex) {
         log.error("Invalid JWT signature: {}", ex.getMessage(), ex);
+        countAuthFailure("invalid_signature");
         return ResponseEntity
                 .status(HttpStatus.FORBIDDEN)
                 .body("The JWT signature is invalid.");
@@ -99,6 +170,7 @@ public class GlobalExceptionHandler {
     @ExceptionHandler(ExpiredJwtException.class)
     public ResponseEntity<String> handleExpiredJwtException(ExpiredJwtException ex) {
         log.error("Expired JWT: {}", ex.getMessage(), ex);
+        countAuthFailure("expired_token");
         return ResponseEntity
                 .status(HttpStatus.FORBIDDEN)
                 .body("The JWT token has expired.");
@@ -111,4 +183,12 @@ public class GlobalExceptionHandler {
                 .status(HttpStatus.INTERNAL_SERVER_ERROR)
                 .body("Unknown internal server error.");
     }
+
+    private void countNotFound(String resource) {
+        meterRegistry.counter(NOT_FOUND_METRIC, "resource", resource).increment();
+    }
+
+    private void countAuthFailure(String reason) {
+        meterRegistry.counter(JwtAuthenticationFilter.AUTH_FAILURES_METRIC, "reason", reason).increment();
+    }
 }
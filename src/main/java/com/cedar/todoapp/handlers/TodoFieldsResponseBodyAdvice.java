@@ -0,0 +1,44 @@
+package com.cedar.todoapp.handlers;
+
+import com.cedar.todoapp.controllers.TodoController;
+import com.cedar.todoapp.dtos.TodoResponse;
+import com.cedar.todoapp.mappers.TodoFieldsMapper;
+import com.cedar.todoapp.models.TodoField;
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.MappingJacksonValue;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.AbstractMappingJacksonResponseBodyAdvice;
+
+import java.util.Set;
+
+@RestControllerAdvice(assignableTypes = TodoController.class)
+@RequiredArgsConstructor
+public class TodoFieldsResponseBodyAdvice extends AbstractMappingJacksonResponseBodyAdvice {
+
+    private static final String FIELDS_PARAM = "fields";
+
+    private final TodoFieldsMapper fieldsMapper;
+
+    @Override
+    protected void beforeBodyWriteInternal(MappingJacksonValue bodyContainer, MediaType contentType,
+                                           MethodParameter returnType, ServerHttpRequest request, ServerHttpResponse response) {
+        if (!(request instanceof ServletServerHttpRequest servletRequest)) {
+            return;
+        }
+        Set<TodoField> fields = fieldsMapper.toFields(servletRequest.getServletRequest().getParameter(FIELDS_PARAM));
+        if (fields == null) {
+            return;
+        }
+
+        bodyContainer.setFilters(new SimpleFilterProvider().addFilter(
+                TodoResponse.FIELDS_FILTER,
+                SimpleBeanPropertyFilter.filterOutAllExcept(fieldsMapper.toProperties(fields))));
+    }
+}
@@ -0,0 +1,83 @@
+package com.cedar.todoapp.mappers;
+
+import com.cedar.todoapp.exceptions.InvalidCursorException;
+import com.cedar.todoapp.models.Priority;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.stereotype.Service;
+
+import java.net.URLDecoder;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.function.Function;
+
+@Service
+public class CursorMapper {
+
+    private static final String ID = "id";
+
+    private static final Map<String, Function<String, Object>> KEY_PARSERS = Map.of(
+            ID, Integer::valueOf,
+            "title", value -> value,
+            "priority", Priority::valueOf,
+            "completed", CursorMapper::parseBoolean
+    );
+
+    public boolean supportsSortProperty(String property) {
+        return KEY_PARSERS.containsKey(property);
+    }
+
+    public String toCursor(ScrollPosition position) {
+        if (!(position instanceof KeysetScrollPosition keyset)) {
+            throw new IllegalArgumentException("Only keyset positions can be encoded as cursors");
+        }
+
+        // A null key is written without "=" so that it cannot be confused with the string "null" or an empty title.
+        StringJoiner joiner = new StringJoiner("&");
+        keyset.getKeys().forEach((key, value) -> joiner.add(value == null
+                ? key
+                : key + "=" + URLEncoder.encode(String.valueOf(value), StandardCharsets.UTF_8)));
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(joiner.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    public ScrollPosition toScrollPosition(String cursor, String sortProperty) {
+        if (!supportsSortProperty(sortProperty)) {
+            throw new InvalidCursorException("Cursor pagination does not support sorting by " + sortProperty);
+        }
+        if (cursor == null || cursor.isBlank()) {
+            return ScrollPosition.keyset();
+        }
+
+        Map<String, Object> keys = new LinkedHashMap<>();
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            for (String pair : decoded.split("&")) {
+                String[] keyValue = pair.split("=", 2);
+                Function<String, Object> parser = KEY_PARSERS.get(keyValue[0]);
+                if (parser == null || (keyValue.length == 1 && keyValue[0].equals(ID))) {
+                    throw new InvalidCursorException("Invalid cursor");
+                }
+                keys.put(keyValue[0], keyValue.length == 1 ? null : parser.apply(URLDecoder.decode(keyValue[1], StandardCharsets.UTF_8)));
+            }
+        } catch (IllegalArgumentException ex) {
+            throw new InvalidCursorException("Invalid cursor");
+        }
+
+        if (!keys.containsKey(ID) || !keys.containsKey(sortProperty)) {
+            throw new InvalidCursorException("Cursor does not match the requested sort");
+        }
+        return ScrollPosition.forward(keys);
+    }
+
+    private static Boolean parseBoolean(String value) {
+        return switch (value) {
+            case "true" -> Boolean.TRUE;
+            case "false" -> Boolean.FALSE;
+            default -> throw new IllegalArgumentException("Invalid boolean " + value);
+        };
+    }
+}
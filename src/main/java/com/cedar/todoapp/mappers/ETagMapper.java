@@ -0,0 +1,81 @@
+package com.cedar.todoapp.mappers;
+
+import org.springframework.stereotype.Service;
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.HashSet;
+import java.util.Set;
+
+@Service
+public class ETagMapper {
+
+    private static final String WILDCARD = "*";
+    private static final String WEAK_PREFIX = "W/";
+
+    public String toTodoTag(Integer todoId, Long version, String representation) {
+        return quote(todoId + "." + version + ":" + digest(representation));
+    }
+
+    public String toListTag(String query, String stamp) {
+        return WEAK_PREFIX + quote(digest(query) + ":" + stamp);
+    }
+
+    public boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        String value = unquote(stripWeak(etag));
+        for (String tag : ifNoneMatch.split(",")) {
+            String candidate = tag.trim();
+            if (candidate.equals(WILDCARD) || value.equals(unquote(stripWeak(candidate)))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public Set<Long> parseTodoVersions(String header, Integer todoId, boolean strong) {
+        if (header == null || header.isBlank() || header.trim().equals(WILDCARD)) {
+            return null;
+        }
+
+        Set<Long> versions = new HashSet<>();
+        String prefix = todoId + ".";
+        for (String tag : header.split(",")) {
+            String candidate = tag.trim();
+            if (strong && candidate.startsWith(WEAK_PREFIX)) {
+                continue;
+            }
+            String value = unquote(stripWeak(candidate));
+            int separator = value.indexOf(':');
+            String todoPart = separator < 0 ? value : value.substring(0, separator);
+            if (todoPart.startsWith(prefix)) {
+                try {
+                    versions.add(Long.valueOf(todoPart.substring(prefix.length())));
+                } catch (NumberFormatException ignored) {
+                }
+            }
+        }
+        return versions;
+    }
+
+    private String digest(String value) {
+        return DigestUtils.md5DigestAsHex((value == null ? "" : value).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private String quote(String value) {
+        return "\"" + value + "\"";
+    }
+
+    private String stripWeak(String tag) {
+        return tag.startsWith(WEAK_PREFIX) ? tag.substring(WEAK_PREFIX.length()) : tag;
+    }
+
+    private String unquote(String tag) {
+        if (tag.length() >= 2 && tag.startsWith("\"") && tag.endsWith("\"")) {
+            return tag.substring(1, tag.length() - 1);
+        }
+        return tag;
+    }
+}
@@ -0,0 +1,40 @@
+package com.cedar.todoapp.mappers;
+
+import com.cedar.todoapp.exceptions.InvalidFieldsException;
+import com.cedar.todoapp.models.TodoField;
+import org.springframework.stereotype.Service;
+
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+@Service
+public class TodoFieldsMapper {
+
+    public Set<TodoField> toFields(String fields) {
+        if (fields == null || fields.isBlank()) {
+            return null;
+        }
+
+        Set<TodoField> selected = EnumSet.noneOf(TodoField.class);
+        for (String property : fields.split(",")) {
+            String trimmed = property.trim();
+            if (trimmed.isEmpty()) {
+                continue;
+            }
+            selected.add(TodoField.fromProperty(trimmed)
+                    .orElseThrow(() -> new InvalidFieldsException("Unknown todo field: " + trimmed)));
+        }
+        if (selected.isEmpty()) {
+            throw new InvalidFieldsException("At least one todo field is required");
+        }
+        return Collections.unmodifiableSet(selected);
+    }
+
+    public Set<String> toProperties(Set<TodoField> fields) {
+        return fields.stream()
+                .map(TodoField::getProperty)
+                .collect(Collectors.toUnmodifiableSet());
+    }
+}
@@ -0,0 +1,8 @@
+package com.cedar.todoapp.models;
+
+public record PendingCompletion(
+        Integer todoId,
+        Integer userId,
+        boolean completed
+) {
+}
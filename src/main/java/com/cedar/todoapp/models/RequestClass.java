@@ -0,0 +1,15 @@
+package com.cedar.todoapp.models;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+@Getter
+@RequiredArgsConstructor
+public enum RequestClass {
+    AUTH("auth"),
+    CRUD("crud"),
+    LIST("list"),
+    BULK("bulk");
+
+    private final String tag;
+}
@@ -0,0 +1,10 @@
+package com.cedar.todoapp.models;
+
+import java.time.LocalDateTime;
+
+public record TodoDueDate(
+        Integer todoId,
+        Integer userId,
+        LocalDateTime dueDate
+) {
+}
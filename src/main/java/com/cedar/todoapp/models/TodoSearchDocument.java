@@ -0,0 +1,9 @@
+package com.cedar.todoapp.models;
+
+public record TodoSearchDocument(
+        Integer id,
+        Integer userId,
+        String title,
+        String description
+) {
+}
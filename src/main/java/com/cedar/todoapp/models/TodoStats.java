@@ -0,0 +1,49 @@
+package com.cedar.todoapp.models;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.*;
+
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Getter
+@Setter
+@Entity
+@Table(name = "todo_stats")
+public class TodoStats {
+
+    @Id
+    private Integer userId;
+
+    private long total;
+
+    private long completed;
+
+    @Column(name = "low_priority_count")
+    private long lowPriority;
+
+    @Column(name = "medium_priority_count")
+    private long mediumPriority;
+
+    @Column(name = "high_priority_count")
+    private long highPriority;
+
+    public TodoStats(Integer userId) {
+        this.userId = userId;
+    }
+
+    public void reset(TodoStatsDelta counts) {
+        total = counts.total();
+        completed = counts.completed();
+        lowPriority = counts.lowPriority();
+        mediumPriority = counts.mediumPriority();
+        highPriority = counts.highPriority();
+    }
+
+    public TodoStatsDelta counts() {
+        return new TodoStatsDelta(total, completed, lowPriority, mediumPriority, highPriority);
+    }
+}
@@ -0,0 +1,47 @@
+package com.cedar.todoapp.models;
+
+public record TodoStatsDelta(
+        long total,
+        long completed,
+        long lowPriority,
+        long mediumPriority,
+        long highPriority
+) {
+    public static final TodoStatsDelta ZERO = new TodoStatsDelta(0, 0, 0, 0, 0);
+
+    public static TodoStatsDelta of(Todo todo) {
+        boolean completed = Boolean.TRUE.equals(todo.getCompleted());
+        Priority priority = todo.getPriority();
+        return new TodoStatsDelta(
+                1,
+                completed ? 1 : 0,
+                priority == Priority.LOW ? 1 : 0,
+                priority == Priority.MEDIUM ? 1 : 0,
+                priority == Priority.HIGH ? 1 : 0
+        );
+    }
+
+    public TodoStatsDelta plus(TodoStatsDelta other) {
+        return new TodoStatsDelta(
+                total + other.total,
+                completed + other.completed,
+                lowPriority + other.lowPriority,
+                mediumPriority + other.mediumPriority,
+                highPriority + other.highPriority
+        );
+    }
+
+    public TodoStatsDelta minus(TodoStatsDelta other) {
+        return new TodoStatsDelta(
+                total - other.total,
+                completed - other.completed,
+                lowPriority - other.lowPriority,
+                mediumPriority - other.mediumPriority,
+                highPriority - other.highPriority
+        );
+    }
+
+    public boolean isZero() {
+        return equals(ZERO);
+    }
+}
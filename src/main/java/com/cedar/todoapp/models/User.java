@@ -2,6 +2,7 @@ package com.cedar.todoapp.models;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 import org.springframework.security.core.GrantedAuthority;
@@ -12,13 +13,19 @@ import java.util.Collection;
 import java.util.Date;
 import java.util.List;
 
+import static org.hibernate.annotations.CacheConcurrencyStrategy.READ_WRITE;
+
 @Getter
 @Setter
 @Builder
 @AllArgsConstructor
 @NoArgsConstructor
 @Entity
+@Cacheable
+@Cache(usage = READ_WRITE, region = User.CACHE_REGION)
 public class User implements UserDetails, Principal {
+    public static final String CACHE_REGION = "users";
+    public static final String QUERY_CACHE_REGION = "user-queries";
 
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
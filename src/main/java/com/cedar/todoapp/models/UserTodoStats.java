@@ -0,0 +1,14 @@
+package com.cedar.todoapp.models;
+
+public record UserTodoStats(
+        Integer userId,
+        long total,
+        long completed,
+        long lowPriority,
+        long mediumPriority,
+        long highPriority
+) {
+    public TodoStatsDelta counts() {
+        return new TodoStatsDelta(total, completed, lowPriority, mediumPriority, highPriority);
+    }
+}
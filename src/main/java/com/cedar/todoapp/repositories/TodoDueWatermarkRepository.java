@@ -0,0 +1,7 @@
+package com.cedar.todoapp.repositories;
+
+import com.cedar.todoapp.models.TodoDueWatermark;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface TodoDueWatermarkRepository extends JpaRepository<TodoDueWatermark, Integer> {
+}
@@ -0,0 +1,43 @@
+package com.cedar.todoapp.repositories;
+
+import com.cedar.todoapp.dtos.TodoResponse;
+import com.cedar.todoapp.dtos.UpdateTodoRequest;
+import com.cedar.todoapp.dtos.VersionedTodoResponse;
+import com.cedar.todoapp.models.TodoField;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+public interface TodoFieldsRepository {
+
+    Optional<VersionedTodoResponse> findFieldsByIdAndUserId(Integer id, Integer userId, Set<TodoField> fields);
+
+    List<TodoResponse> findFieldsByUserIdAndIdIn(Integer userId, Collection<Integer> ids, Set<TodoField> fields);
+
+    Page<TodoResponse> findFieldsByUserId(Integer userId, Boolean completed, Collection<Integer> ids,
+                                          Set<TodoField> fields, Pageable pageable);
+
+    Slice<TodoResponse> findFieldsSliceByUserId(Integer userId, Boolean completed, Collection<Integer> ids,
+                                                Set<TodoField> fields, Pageable pageable);
+
+    Window<TodoResponse> findFieldsByUserId(Integer userId, Boolean completed, Collection<Integer> ids,
+                                            Set<TodoField> fields, ScrollPosition position, Limit limit, Sort sort);
+
+    Page<TodoResponse> searchFieldsByUserId(Integer userId, String keyword, Set<TodoField> fields, Pageable pageable);
+
+    Slice<TodoResponse> searchFieldsSliceByUserId(Integer userId, String keyword, Set<TodoField> fields, Pageable pageable);
+
+    Window<TodoResponse> searchFieldsByUserId(Integer userId, String keyword, Set<TodoField> fields,
+                                              ScrollPosition position, Limit limit, Sort sort);
+
+    int updateFields(UpdateTodoRequest request, Integer userId, Collection<Long> expectedVersions);
+}
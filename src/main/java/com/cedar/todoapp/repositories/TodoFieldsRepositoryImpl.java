@@ -0,0 +1,309 @@
+package com.cedar.todoapp.repositories;
+
+import com.cedar.todoapp.dtos.TodoResponse;
+import com.cedar.todoapp.dtos.UpdateTodoRequest;
+import com.cedar.todoapp.dtos.VersionedTodoResponse;
+import com.cedar.todoapp.models.Priority;
+import com.cedar.todoapp.models.Todo;
+import com.cedar.todoapp.models.TodoField;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.CriteriaUpdate;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+@RequiredArgsConstructor
+public class TodoFieldsRepositoryImpl implements TodoFieldsRepository {
+
+    private static final String ID = "id";
+    private static final String VERSION = "version";
+    private static final char LIKE_ESCAPE = '\\';
+
+    private final EntityManager entityManager;
+
+    private record Filter(Integer userId, Boolean completed, Collection<Integer> ids, String keyword) {
+    }
+
+    @Override
+    public Optional<VersionedTodoResponse> findFieldsByIdAndUserId(Integer id, Integer userId, Set<TodoField> fields) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Todo> todo = query.from(Todo.class);
+
+        Set<String> attributes = attributes(fields, Sort.unsorted());
+        attributes.add(VERSION);
+        query.multiselect(select(todo, attributes))
+                .where(cb.equal(todo.get(ID), id), cb.equal(todo.get("user").get(ID), userId));
+
+        return entityManager.createQuery(query).getResultList().stream()
+                .findFirst()
+                .map(tuple -> new VersionedTodoResponse(toResponse(tuple, attributes), tuple.get(VERSION, Long.class)));
+    }
+
+    @Override
+    public List<TodoResponse> findFieldsByUserIdAndIdIn(Integer userId, Collection<Integer> ids, Set<TodoField> fields) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Todo> todo = query.from(Todo.class);
+
+        Set<String> attributes = attributes(fields, Sort.unsorted());
+        query.multiselect(select(todo, attributes))
+                .where(predicate(cb, todo, new Filter(userId, null, ids, null)));
+
+        return entityManager.createQuery(query).getResultList().stream()
+                .map(tuple -> toResponse(tuple, attributes))
+                .toList();
+    }
+
+    @Override
+    public Page<TodoResponse> findFieldsByUserId(Integer userId, Boolean completed, Collection<Integer> ids,
+                                                 Set<TodoField> fields, Pageable pageable) {
+        return findPage(new Filter(userId, completed, ids, null), fields, pageable);
+    }
+
+    @Override
+    public Slice<TodoResponse> findFieldsSliceByUserId(Integer userId, Boolean completed, Collection<Integer> ids,
+                                                       Set<TodoField> fields, Pageable pageable) {
+        return findSlice(new Filter(userId, completed, ids, null), fields, pageable);
+    }
+
+    @Override
+    public Window<TodoResponse> findFieldsByUserId(Integer userId, Boolean completed, Collection<Integer> ids,
+                                                   Set<TodoField> fields, ScrollPosition position, Limit limit, Sort sort) {
+        return findWindow(new Filter(userId, completed, ids, null), fields, position, limit, sort);
+    }
+
+    @Override
+    public Page<TodoResponse> searchFieldsByUserId(Integer userId, String keyword, Set<TodoField> fields, Pageable pageable) {
+        return findPage(new Filter(userId, null, null, keyword), fields, pageable);
+    }
+
+    @Override
+    public Slice<TodoResponse> searchFieldsSliceByUserId(Integer userId, String keyword, Set<TodoField> fields, Pageable pageable) {
+        return findSlice(new Filter(userId, null, null, keyword), fields, pageable);
+    }
+
+    @Override
+    public Window<TodoResponse> searchFieldsByUserId(Integer userId, String keyword, Set<TodoField> fields,
+                                                     ScrollPosition position, Limit limit, Sort sort) {
+        return findWindow(new Filter(userId, null, null, keyword), fields, position, limit, sort);
+    }
+
+    private Page<TodoResponse> findPage(Filter filter, Set<TodoField> fields, Pageable pageable) {
+        List<TodoResponse> content = findFields(filter, fields, pageable, 0);
+        return PageableExecutionUtils.getPage(content, pageable, () -> count(filter));
+    }
+
+    private Slice<TodoResponse> findSlice(Filter filter, Set<TodoField> fields, Pageable pageable) {
+        List<TodoResponse> content = findFields(filter, fields, pageable, 1);
+        if (pageable.isUnpaged() || content.size() <= pageable.getPageSize()) {
+            return new SliceImpl<>(content, pageable, false);
+        }
+        return new SliceImpl<>(content.subList(0, pageable.getPageSize()), pageable, true);
+    }
+
+    private Window<TodoResponse> findWindow(Filter filter, Set<TodoField> fields,
+                                            ScrollPosition position, Limit limit, Sort sort) {
+        if (!(position instanceof KeysetScrollPosition keysetPosition)) {
+            throw new IllegalArgumentException("Only keyset positions are supported");
+        }
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Todo> todo = query.from(Todo.class);
+
+        Sort keysetSort = sort.getOrderFor(ID) == null ? sort.and(Sort.by(ID)) : sort;
+        Set<String> attributes = attributes(fields, keysetSort);
+        List<Predicate> predicates = new ArrayList<>(List.of(predicate(cb, todo, filter)));
+        if (!keysetPosition.isInitial()) {
+            predicates.add(keyset(cb, todo, keysetSort, keysetPosition.getKeys()));
+        }
+        query.multiselect(select(todo, attributes))
+                .where(predicates.toArray(Predicate[]::new))
+                .orderBy(QueryUtils.toOrders(keysetSort, todo, cb));
+
+        List<Tuple> tuples = entityManager.createQuery(query)
+                .setMaxResults(limit.max() + 1)
+                .getResultList();
+        List<Tuple> page = tuples.subList(0, Math.min(tuples.size(), limit.max()));
+        List<TodoResponse> content = page.stream()
+                .map(tuple -> toResponse(tuple, attributes))
+                .toList();
+
+        return Window.from(content, index -> positionOf(page.get(index), keysetSort), tuples.size() > limit.max());
+    }
+
+    @Override
+    public int updateFields(UpdateTodoRequest request, Integer userId, Collection<Long> expectedVersions) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaUpdate<Todo> update = cb.createCriteriaUpdate(Todo.class);
+        Root<Todo> todo = update.from(Todo.class);
+
+        setIfPresent(update, TodoField.TITLE, request.title());
+        setIfPresent(update, TodoField.DESCRIPTION, request.description());
+        setIfPresent(update, TodoField.DUE_DATE, request.dueDate());
+        setIfPresent(update, TodoField.PRIORITY, request.priority());
+        setIfPresent(update, TodoField.COMPLETED, request.completed());
+        Path<Long> version = todo.get(VERSION);
+        update.set(version, cb.sum(version, 1L));
+
+        List<Predicate> predicates = new ArrayList<>(List.of(
+                cb.equal(todo.get(ID), request.id()),
+                cb.equal(todo.get("user").get(ID), userId)));
+        if (expectedVersions != null) {
+            predicates.add(version.in(expectedVersions));
+        }
+        update.where(predicates.toArray(Predicate[]::new));
+
+        return entityManager.createQuery(update).executeUpdate();
+    }
+
+    private List<TodoResponse> findFields(Filter filter, Set<TodoField> fields, Pageable pageable, int lookahead) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Todo> todo = query.from(Todo.class);
+
+        Set<String> attributes = attributes(fields, Sort.unsorted());
+        query.multiselect(select(todo, attributes))
+                .where(predicate(cb, todo, filter))
+                .orderBy(QueryUtils.toOrders(pageable.getSort(), todo, cb));
+
+        TypedQuery<Tuple> typedQuery = entityManager.createQuery(query);
+        if (pageable.isPaged()) {
+            typedQuery.setFirstResult((int) pageable.getOffset()).setMaxResults(pageable.getPageSize() + lookahead);
+        }
+        return typedQuery.getResultList().stream()
+                .map(tuple -> toResponse(tuple, attributes))
+                .toList();
+    }
+
+    private void setIfPresent(CriteriaUpdate<Todo> update, TodoField field, Object value) {
+        if (value != null) {
+            update.set(field.getProperty(), value);
+        }
+    }
+
+    private long count(Filter filter) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<Todo> todo = query.from(Todo.class);
+        query.select(cb.count(todo)).where(predicate(cb, todo, filter));
+        return entityManager.createQuery(query).getSingleResult();
+    }
+
+    private Predicate predicate(CriteriaBuilder cb, Root<Todo> todo, Filter filter) {
+        List<Predicate> predicates = new ArrayList<>();
+        predicates.add(cb.equal(todo.get("user").get(ID), filter.userId()));
+        if (filter.completed() != null) {
+            predicates.add(cb.equal(todo.get(TodoField.COMPLETED.getProperty()), filter.completed()));
+        }
+        if (filter.ids() != null) {
+            predicates.add(todo.get(ID).in(filter.ids()));
+        }
+        if (filter.keyword() != null && !filter.keyword().isEmpty()) {
+            String pattern = "%" + escapeLike(filter.keyword().toLowerCase(Locale.ROOT)) + "%";
+            predicates.add(cb.or(
+                    cb.like(cb.lower(todo.get(TodoField.TITLE.getProperty())), pattern, LIKE_ESCAPE),
+                    cb.like(cb.lower(todo.get(TodoField.DESCRIPTION.getProperty())), pattern, LIKE_ESCAPE)));
+        }
+        return cb.and(predicates.toArray(Predicate[]::new));
+    }
+
+    private String escapeLike(String value) {
+        return value.replace(String.valueOf(LIKE_ESCAPE), LIKE_ESCAPE + String.valueOf(LIKE_ESCAPE))
+                .replace("%", LIKE_ESCAPE + "%")
+                .replace("_", LIKE_ESCAPE + "_");
+    }
+
+    // MariaDB sorts NULL before every value, so a null key is the lowest value: first when ascending, last when
+    // descending. Nothing sorts after a null key in descending order, so that column adds no alternative.
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    private Predicate keyset(CriteriaBuilder cb, Root<Todo> todo, Sort sort, Map<String, Object> keys) {
+        List<Predicate> alternatives = new ArrayList<>();
+        List<Predicate> equalPrefix = new ArrayList<>();
+        for (Sort.Order order : sort) {
+            Expression<Comparable> path = todo.get(order.getProperty());
+            Comparable value = (Comparable) keys.get(order.getProperty());
+            if (order.isAscending() || value != null) {
+                List<Predicate> alternative = new ArrayList<>(equalPrefix);
+                alternative.add(order.isAscending() ? after(cb, path, value) : before(cb, path, value));
+                alternatives.add(cb.and(alternative.toArray(Predicate[]::new)));
+            }
+            equalPrefix.add(value == null ? cb.isNull(path) : cb.equal(path, value));
+        }
+        return cb.or(alternatives.toArray(Predicate[]::new));
+    }
+
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    private Predicate after(CriteriaBuilder cb, Expression<Comparable> path, Comparable value) {
+        return value == null ? cb.isNotNull(path) : cb.greaterThan(path, value);
+    }
+
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    private Predicate before(CriteriaBuilder cb, Expression<Comparable> path, Comparable value) {
+        return cb.or(cb.lessThan(path, value), cb.isNull(path));
+    }
+
+    private ScrollPosition positionOf(Tuple tuple, Sort sort) {
+        Map<String, Object> keys = new LinkedHashMap<>();
+        sort.forEach(order -> keys.put(order.getProperty(), tuple.get(order.getProperty())));
+        return ScrollPosition.forward(keys);
+    }
+
+    private Set<String> attributes(Set<TodoField> fields, Sort sort) {
+        Set<String> attributes = new LinkedHashSet<>();
+        attributes.add(ID);
+        fields.forEach(field -> attributes.add(field.getProperty()));
+        sort.forEach(order -> attributes.add(order.getProperty()));
+        return attributes;
+    }
+
+    private List<Selection<?>> select(Root<Todo> todo, Set<String> attributes) {
+        return attributes.stream()
+                .<Selection<?>>map(attribute -> todo.get(attribute).alias(attribute))
+                .toList();
+    }
+
+    private TodoResponse toResponse(Tuple tuple, Set<String> attributes) {
+        return new TodoResponse(
+                tuple.get(ID, Integer.class),
+                value(tuple, attributes, TodoField.TITLE, String.class),
+                value(tuple, attributes, TodoField.DESCRIPTION, String.class),
+                value(tuple, attributes, TodoField.DUE_DATE, LocalDateTime.class),
+                value(tuple, attributes, TodoField.PRIORITY, Priority.class),
+                Boolean.TRUE.equals(value(tuple, attributes, TodoField.COMPLETED, Boolean.class))
+        );
+    }
+
+    private <T> T value(Tuple tuple, Set<String> attributes, TodoField field, Class<T> type) {
+        return attributes.contains(field.getProperty()) ? tuple.get(field.getProperty(), type) : null;
+    }
+}
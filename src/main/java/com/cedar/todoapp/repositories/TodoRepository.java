@@ -1,17 +1,116 @@
 package com.cedar.todoapp.repositories;
 
+import com.cedar.todoapp.dtos.VersionedTodoResponse;
 import com.cedar.todoapp.models.Todo;
-import com.cedar.todoapp.models.User;
+import com.cedar.todoapp.models.TodoDueDate;
+import com.cedar.todoapp.models.TodoSearchDocument;
+import com.cedar.todoapp.models.TodoStatsDelta;
+import com.cedar.todoapp.models.UserTodoStats;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
-public interface TodoRepository extends JpaRepository<Todo, Integer> {
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
 
-    Optional<Todo> findByIdAndUser(Integer id, User user);
-    Page<Todo> findByUserAndTitleContainingIgnoreCaseOrDescriptionContainingIgnoreCase(User user, String title, String description, Pageable pageable);
-    Page<Todo> findByUserAndCompleted(User user, boolean completed, Pageable pageable);
-    Page<Todo> findByUser(User user, Pageable pageable);
+public interface TodoRepository extends JpaRepository<Todo, Integer>, TodoFieldsRepository {
+
+    Optional<Todo> findByIdAndUserId(Integer id, Integer userId);
+
+    boolean existsByIdAndUserId(Integer id, Integer userId);
+
+    List<Todo> findByUserIdAndIdIn(Integer userId, Collection<Integer> ids);
+    <T> List<T> findByUserIdAndIdIn(Integer userId, Collection<Integer> ids, Class<T> type);
+    <T> Page<T> findByUserIdAndIdIn(Integer userId, Collection<Integer> ids, Pageable pageable, Class<T> type);
+    <T> Page<T> findByUserIdAndCompleted(Integer userId, boolean completed, Pageable pageable, Class<T> type);
+    <T> Page<T> findByUserId(Integer userId, Pageable pageable, Class<T> type);
+    <T> Slice<T> findSliceByUserIdAndIdIn(Integer userId, Collection<Integer> ids, Pageable pageable, Class<T> type);
+    <T> Slice<T> findSliceByUserIdAndCompleted(Integer userId, boolean completed, Pageable pageable, Class<T> type);
+    <T> Slice<T> findSliceByUserId(Integer userId, Pageable pageable, Class<T> type);
+    <T> Page<T> findByUserIdAndCompletedFalseAndDueDateLessThanEqual(Integer userId, LocalDateTime now, Pageable pageable, Class<T> type);
+    <T> Page<T> findByUserIdAndCompletedFalseAndDueDateAfterAndDueDateLessThanEqual(Integer userId, LocalDateTime from, LocalDateTime to, Pageable pageable, Class<T> type);
+
+    @Modifying
+    @Query("""
+            update Todo t set t.completed = :completed, t.version = t.version + 1
+            where t.id = :id and t.user.id = :userId and (t.completed is null or t.completed <> :completed)
+            """)
+    int updateCompleted(Integer id, Integer userId, boolean completed);
+
+    @Modifying
+    @Query("delete from Todo t where t.id = :id and t.user.id = :userId")
+    int deleteByIdAndUserId(Integer id, Integer userId);
+
+    @Query("""
+            select new com.cedar.todoapp.dtos.VersionedTodoResponse(t.id, t.title, t.description, t.dueDate, t.priority, t.completed, t.version)
+            from Todo t
+            where t.id = :id and t.user.id = :userId
+            """)
+    Optional<VersionedTodoResponse> findResponseByIdAndUserId(Integer id, Integer userId);
+
+    // Integer.MIN_VALUE makes Connector/J stream rows one at a time for this statement only
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE),
+            @QueryHint(name = HINT_READ_ONLY, value = "true")
+    })
+    Stream<Todo> streamByUserIdOrderById(Integer userId);
+
+    @Query("select new com.cedar.todoapp.models.TodoSearchDocument(t.id, t.user.id, t.title, t.description) from Todo t")
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE))
+    Stream<TodoSearchDocument> streamSearchDocuments();
+
+    @Query("""
+            select new com.cedar.todoapp.models.TodoStatsDelta(
+                count(t),
+                coalesce(sum(case when t.completed = true then 1 else 0 end), 0),
+                coalesce(sum(case when t.priority = com.cedar.todoapp.models.Priority.LOW then 1 else 0 end), 0),
+                coalesce(sum(case when t.priority = com.cedar.todoapp.models.Priority.MEDIUM then 1 else 0 end), 0),
+                coalesce(sum(case when t.priority = com.cedar.todoapp.models.Priority.HIGH then 1 else 0 end), 0)
+            )
+            from Todo t
+            where t.user.id = :userId
+            """)
+    TodoStatsDelta countStatsByUserId(Integer userId);
+
+    @Query("""
+            select new com.cedar.todoapp.models.UserTodoStats(
+                t.user.id,
+                count(t),
+                coalesce(sum(case when t.completed = true then 1 else 0 end), 0),
+                coalesce(sum(case when t.priority = com.cedar.todoapp.models.Priority.LOW then 1 else 0 end), 0),
+                coalesce(sum(case when t.priority = com.cedar.todoapp.models.Priority.MEDIUM then 1 else 0 end), 0),
+                coalesce(sum(case when t.priority = com.cedar.todoapp.models.Priority.HIGH then 1 else 0 end), 0)
+            )
+            from Todo t
+            where t.user.id in :userIds
+            group by t.user.id
+            """)
+    List<UserTodoStats> countStatsByUserIdIn(Collection<Integer> userIds);
+
+    long countByUserIdAndCompletedFalseAndDueDateLessThanEqual(Integer userId, LocalDateTime now);
+
+    @Query("""
+            select new com.cedar.todoapp.models.TodoDueDate(t.id, t.user.id, t.dueDate)
+            from Todo t
+            where t.completed = false and t.dueDate > :from and t.dueDate <= :to
+            """)
+    List<TodoDueDate> findOpenDueBetween(LocalDateTime from, LocalDateTime to);
+
+    @Query("""
+            select new com.cedar.todoapp.models.TodoDueDate(t.id, t.user.id, t.dueDate)
+            from Todo t
+            where t.id in :ids and t.completed = false
+            """)
+    List<TodoDueDate> findOpenDueDatesByIdIn(Collection<Integer> ids);
 }
@@ -0,0 +1,50 @@
+package com.cedar.todoapp.repositories;
+
+import com.cedar.todoapp.models.TodoStats;
+import com.cedar.todoapp.models.TodoStatsDelta;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface TodoStatsRepository extends JpaRepository<TodoStats, Integer> {
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    Optional<TodoStats> findForUpdateByUserId(Integer userId);
+
+    @Modifying
+    @Query("""
+            update TodoStats s set
+                s.total = s.total + :#{#delta.total()},
+                s.completed = s.completed + :#{#delta.completed()},
+                s.lowPriority = s.lowPriority + :#{#delta.lowPriority()},
+                s.mediumPriority = s.mediumPriority + :#{#delta.mediumPriority()},
+                s.highPriority = s.highPriority + :#{#delta.highPriority()}
+            where s.userId = :userId
+            """)
+    int increment(Integer userId, TodoStatsDelta delta);
+
+    @Modifying
+    @Query("""
+            update TodoStats s set
+                s.total = s.total + :sign * (select count(t) from Todo t where t.id = :todoId and t.user.id = :userId),
+                s.completed = s.completed + :sign * (select count(t) from Todo t where t.id = :todoId and t.user.id = :userId and t.completed = true),
+                s.lowPriority = s.lowPriority + :sign * (select count(t) from Todo t where t.id = :todoId and t.user.id = :userId and t.priority = com.cedar.todoapp.models.Priority.LOW),
+                s.mediumPriority = s.mediumPriority + :sign * (select count(t) from Todo t where t.id = :todoId and t.user.id = :userId and t.priority = com.cedar.todoapp.models.Priority.MEDIUM),
+                s.highPriority = s.highPriority + :sign * (select count(t) from Todo t where t.id = :todoId and t.user.id = :userId and t.priority = com.cedar.todoapp.models.Priority.HIGH)
+            where s.userId = :userId
+            """)
+    int incrementByTodo(Integer userId, Integer todoId, long sign);
+
+    @Modifying
+    @Query("update TodoStats s set s.completed = s.completed + :delta where s.userId = :userId")
+    int incrementCompleted(Integer userId, long delta);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    List<TodoStats> findForUpdateByUserIdIn(Collection<Integer> userIds);
+}
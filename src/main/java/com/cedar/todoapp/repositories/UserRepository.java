@@ -1,11 +1,26 @@
 package com.cedar.todoapp.repositories;
 
 import com.cedar.todoapp.models.User;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
+import java.util.List;
 import java.util.Optional;
 
+import static org.hibernate.jpa.HibernateHints.HINT_CACHEABLE;
+import static org.hibernate.jpa.HibernateHints.HINT_CACHE_REGION;
+
 public interface UserRepository extends JpaRepository<User, Integer> {
 
+    @QueryHints({
+            @QueryHint(name = HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HINT_CACHE_REGION, value = User.QUERY_CACHE_REGION)
+    })
     Optional<User> findByEmail(String email);
+
+    @Query("select u.id from User u where u.id > :afterId order by u.id")
+    List<Integer> findIdsAfter(Integer afterId, Limit limit);
 }
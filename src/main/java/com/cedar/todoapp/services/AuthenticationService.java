@@ -2,15 +2,16 @@ package com.cedar.todoapp.services;
 
 import com.cedar.todoapp.dtos.LoginUserRequest;
 import com.cedar.todoapp.dtos.RegisterUserRequest;
-import com.cedar.todoapp.exceptions.UserNotFoundException;
 import com.cedar.todoapp.exceptions.UsernameAlreadyExistsException;
 import com.cedar.todoapp.models.User;
 import com.cedar.todoapp.repositories.UserRepository;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
@@ -23,6 +24,7 @@ public class AuthenticationService {
     private final PasswordEncoder passwordEncoder;
     private final AuthenticationManager authenticationManager;
 
+    @CacheEvict(cacheNames = CachedUserDetailsService.USERS_CACHE, key = "#input.email()")
     public Integer register(@Valid RegisterUserRequest input) {
         if (userRepository.findByEmail(input.email()).isPresent()) {
             log.warn("Attempt to register with existing email: {}", input.email());
@@ -41,14 +43,13 @@ public class AuthenticationService {
     }
 
     public User authenticate(@Valid LoginUserRequest input) {
-        authenticationManager.authenticate(
+        Authentication authentication = authenticationManager.authenticate(
                 new UsernamePasswordAuthenticationToken(
                         input.email(),
                         input.password()
                 )
         );
 
-        return userRepository.findByEmail(input.email())
-                .orElseThrow(() -> new UserNotFoundException("User not found with email: " + input.email()));
+        return (User) authentication.getPrincipal();
     }
 }
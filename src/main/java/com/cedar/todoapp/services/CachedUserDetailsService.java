@@ -0,0 +1,40 @@
+package com.cedar.todoapp.services;
+
+import com.cedar.todoapp.models.User;
+import com.cedar.todoapp.repositories.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+
+@RequiredArgsConstructor
+@Slf4j
+public class CachedUserDetailsService implements UserDetailsService, UserDetailsPasswordService {
+
+    public static final String USERS_CACHE = "users";
+
+    private final UserRepository userRepository;
+
+    @Override
+    @Cacheable(cacheNames = USERS_CACHE)
+    public User loadUserByUsername(String username) {
+        return userRepository.findByEmail(username)
+                .orElseThrow(() -> new UsernameNotFoundException("User not found"));
+    }
+
+    @Override
+    @CacheEvict(cacheNames = USERS_CACHE, key = "#user.username")
+    public User updatePassword(UserDetails user, String newPassword) {
+        User existingUser = userRepository.findByEmail(user.getUsername())
+                .orElseThrow(() -> new UsernameNotFoundException("User not found"));
+        existingUser.setPassword(newPassword);
+
+        User updatedUser = userRepository.save(existingUser);
+        log.info("Password hash upgraded for user ID: {}", updatedUser.getId());
+        return updatedUser;
+    }
+}
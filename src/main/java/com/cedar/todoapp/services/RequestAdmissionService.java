@@ -0,0 +1,199 @@
+package com.cedar.todoapp.services;
+
+import com.cedar.todoapp.exceptions.ServiceOverloadedException;
+import com.cedar.todoapp.models.RequestClass;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.core.env.Environment;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class RequestAdmissionService implements DisposableBean {
+
+    public static final String ADMITTED_METRIC = "http.admission.admitted";
+    public static final String SHED_METRIC = "http.admission.shed";
+    public static final String IN_FLIGHT_METRIC = "http.admission.in_flight";
+    public static final String CONNECTION_ACQUIRE_METRIC = "hikaricp.connections.acquire";
+    public static final String CONNECTION_PENDING_METRIC = "hikaricp.connections.pending";
+    public static final String GATE_WAIT_METRIC = "db.gate.wait";
+    public static final String GATE_WAITING_METRIC = "db.gate.waiting";
+
+    private static final String AUTH_PATH = "/api/v1/auth/";
+    private static final String TODOS_PATH = "/api/v1/todos";
+    private static final Pool DEFAULT_POOL = new Pool(20, 100, false);
+
+    private final Environment environment;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${todo.admission.enabled:true}")
+    private boolean enabled;
+
+    @Value("${todo.admission.retry-after-seconds:1}")
+    private long retryAfterSeconds;
+
+    @Value("${todo.admission.connection-acquire-threshold-ms:250}")
+    private double connectionAcquireThresholdMs;
+
+    @Value("${todo.admission.sample-interval-ms:1000}")
+    private long sampleIntervalMs;
+
+    private final Map<RequestClass, Bulkhead> bulkheads = new EnumMap<>(RequestClass.class);
+    private volatile double recentAcquireMs;
+    private long lastAcquireCount;
+    private double lastAcquireTotalMs;
+    private ScheduledExecutorService sampler;
+
+    public record Pool(int maxConcurrent, long maxWaitMs, boolean shedOnSlowDatabase) {
+    }
+
+    private record Bulkhead(Pool pool, Semaphore permits, Counter admitted, Counter shedQueue, Counter shedDatabase) {
+    }
+
+    @PostConstruct
+    void init() {
+        Map<String, Pool> pools = Binder.get(environment)
+                .bind("todo.admission.pools", Bindable.mapOf(String.class, Pool.class))
+                .orElse(Map.of());
+        for (RequestClass requestClass : RequestClass.values()) {
+            Pool pool = pools.getOrDefault(requestClass.getTag(), DEFAULT_POOL);
+            Semaphore permits = new Semaphore(pool.maxConcurrent(), true);
+            bulkheads.put(requestClass, new Bulkhead(
+                    pool,
+                    permits,
+                    meterRegistry.counter(ADMITTED_METRIC, "class", requestClass.getTag()),
+                    meterRegistry.counter(SHED_METRIC, "class", requestClass.getTag(), "reason", "queue"),
+                    meterRegistry.counter(SHED_METRIC, "class", requestClass.getTag(), "reason", "connection_acquire")));
+            Gauge.builder(IN_FLIGHT_METRIC, permits, semaphore -> pool.maxConcurrent() - semaphore.availablePermits())
+                    .tag("class", requestClass.getTag())
+                    .register(meterRegistry);
+        }
+        // Sampled on a thread of its own so that slow scheduled jobs sharing Spring's scheduler cannot delay shedding.
+        sampler = Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("admission-sampler-"));
+        sampler.scheduleWithFixedDelay(this::sampleQuietly, sampleIntervalMs, sampleIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void destroy() {
+        sampler.shutdownNow();
+    }
+
+    public Optional<RequestClass> classify(String method, String path) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+        if (path.startsWith(AUTH_PATH)) {
+            return Optional.of(RequestClass.AUTH);
+        }
+        if (!path.equals(TODOS_PATH) && !path.startsWith(TODOS_PATH + "/")) {
+            return Optional.empty();
+        }
+        String resource = path.substring(TODOS_PATH.length());
+        if (resource.startsWith("/batch") || resource.equals("/export") || resource.equals("/import")) {
+            return Optional.of(RequestClass.BULK);
+        }
+        boolean list = resource.isEmpty() || resource.equals("/search") || resource.equals("/status")
+                || resource.equals("/overdue") || resource.equals("/upcoming");
+        return Optional.of(list && "GET".equals(method) ? RequestClass.LIST : RequestClass.CRUD);
+    }
+
+    public void acquire(RequestClass requestClass) {
+        Bulkhead bulkhead = bulkheads.get(requestClass);
+        if (bulkhead.pool().shedOnSlowDatabase() && recentAcquireMs > connectionAcquireThresholdMs) {
+            bulkhead.shedDatabase().increment();
+            throw new ServiceOverloadedException(
+                    "The database is under load, please retry shortly.", retryAfterSeconds);
+        }
+        if (!tryAcquire(bulkhead)) {
+            bulkhead.shedQueue().increment();
+            throw new ServiceOverloadedException(
+                    "Too many " + requestClass.getTag() + " requests in flight, please retry shortly.", retryAfterSeconds);
+        }
+        bulkhead.admitted().increment();
+    }
+
+    public void release(RequestClass requestClass) {
+        bulkheads.get(requestClass).permits().release();
+    }
+
+    public double getRecentAcquireMs() {
+        return recentAcquireMs;
+    }
+
+    // Under virtual threads requests queue in ConnectionGateDataSource before Hikari sees them, so the time spent
+    // at the gate is added to the Hikari acquire time. Every gated request also passes through Hikari once.
+    public synchronized void sampleConnectionAcquire() {
+        long count = 0;
+        double totalMs = 0;
+        for (Timer timer : meterRegistry.find(CONNECTION_ACQUIRE_METRIC).timers()) {
+            count += timer.count();
+            totalMs += timer.totalTime(TimeUnit.MILLISECONDS);
+        }
+        for (FunctionTimer timer : meterRegistry.find(GATE_WAIT_METRIC).functionTimers()) {
+            totalMs += timer.totalTime(TimeUnit.MILLISECONDS);
+        }
+        long acquired = count - lastAcquireCount;
+        double acquireMs = totalMs - lastAcquireTotalMs;
+        lastAcquireCount = count;
+        lastAcquireTotalMs = totalMs;
+
+        if (acquired > 0) {
+            recentAcquireMs = acquireMs / acquired;
+        } else if (pendingConnections() > 0) {
+            recentAcquireMs = Math.max(recentAcquireMs, sampleIntervalMs);
+        } else {
+            recentAcquireMs = 0;
+        }
+        if (recentAcquireMs > connectionAcquireThresholdMs) {
+            log.warn("Connection acquire latency {} ms is above {} ms, shedding expensive requests",
+                    Math.round(recentAcquireMs), Math.round(connectionAcquireThresholdMs));
+        }
+    }
+
+    private void sampleQuietly() {
+        try {
+            sampleConnectionAcquire();
+        } catch (RuntimeException ex) {
+            log.error("Failed to sample connection acquire latency", ex);
+        }
+    }
+
+    private double pendingConnections() {
+        return Stream.of(CONNECTION_PENDING_METRIC, GATE_WAITING_METRIC)
+                .flatMap(name -> meterRegistry.find(name).gauges().stream())
+                .mapToDouble(Gauge::value)
+                .sum();
+    }
+
+    private boolean tryAcquire(Bulkhead bulkhead) {
+        try {
+            return bulkhead.pool().maxWaitMs() <= 0
+                    ? bulkhead.permits().tryAcquire()
+                    : bulkhead.permits().tryAcquire(bulkhead.pool().maxWaitMs(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package com.cedar.todoapp.services;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+public class TimingWheel<T> {
+
+    private final long tickMs;
+    private final int wheelSize;
+    private final long interval;
+    private final List<Bucket<T>> buckets;
+    private final PriorityQueue<Bucket<T>> queue;
+    private long currentTime;
+    private TimingWheel<T> overflowWheel;
+
+    public TimingWheel(long tickMs, int wheelSize, long startMs) {
+        this(tickMs, wheelSize, startMs, new PriorityQueue<>(Comparator.comparingLong(Bucket::expiration)));
+    }
+
+    private TimingWheel(long tickMs, int wheelSize, long startMs, PriorityQueue<Bucket<T>> queue) {
+        this.tickMs = tickMs;
+        this.wheelSize = wheelSize;
+        this.interval = tickMs * wheelSize;
+        this.queue = queue;
+        this.currentTime = startMs - (startMs % tickMs);
+        this.buckets = new ArrayList<>(wheelSize);
+        for (int i = 0; i < wheelSize; i++) {
+            buckets.add(new Bucket<>());
+        }
+    }
+
+    public boolean add(T item, long expirationMs) {
+        long roundedUp = Math.floorDiv(expirationMs + tickMs - 1, tickMs) * tickMs;
+        return add(new Entry<>(item, roundedUp));
+    }
+
+    public List<T> advance(long nowMs) {
+        List<T> expired = new ArrayList<>();
+        Bucket<T> bucket;
+        while ((bucket = queue.peek()) != null && bucket.expiration() <= nowMs) {
+            queue.poll();
+            advanceClock(bucket.expiration());
+            for (Entry<T> entry : bucket.flush()) {
+                if (!add(entry)) {
+                    expired.add(entry.item());
+                }
+            }
+        }
+        advanceClock(nowMs);
+        return expired;
+    }
+
+    private boolean add(Entry<T> entry) {
+        long expiration = entry.expirationMs();
+        if (expiration < currentTime + tickMs) {
+            return false;
+        }
+        if (expiration < currentTime + interval) {
+            long virtualId = expiration / tickMs;
+            Bucket<T> bucket = buckets.get((int) (virtualId % wheelSize));
+            bucket.add(entry);
+            if (bucket.setExpiration(virtualId * tickMs)) {
+                queue.offer(bucket);
+            }
+            return true;
+        }
+        return overflowWheel().add(entry);
+    }
+
+    private void advanceClock(long timeMs) {
+        if (timeMs >= currentTime + tickMs) {
+            currentTime = timeMs - (timeMs % tickMs);
+            if (overflowWheel != null) {
+                overflowWheel.advanceClock(currentTime);
+            }
+        }
+    }
+
+    private TimingWheel<T> overflowWheel() {
+        if (overflowWheel == null) {
+            overflowWheel = new TimingWheel<>(interval, wheelSize, currentTime, queue);
+        }
+        return overflowWheel;
+    }
+
+    private record Entry<T>(T item, long expirationMs) {
+    }
+
+    private static class Bucket<T> {
+
+        private List<Entry<T>> entries = new ArrayList<>();
+        private long expiration = -1;
+
+        long expiration() {
+            return expiration;
+        }
+
+        boolean setExpiration(long expirationMs) {
+            long previous = expiration;
+            expiration = expirationMs;
+            return previous != expirationMs;
+        }
+
+        void add(Entry<T> entry) {
+            entries.add(entry);
+        }
+
+        List<Entry<T>> flush() {
+            List<Entry<T>> flushed = entries;
+            entries = new ArrayList<>();
+            expiration = -1;
+            return flushed;
+        }
+    }
+}
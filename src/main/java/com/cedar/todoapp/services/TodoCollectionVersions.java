@@ -0,0 +1,38 @@
+package com.cedar.todoapp.services;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Versions live in this process only, so list ETags built from them assume a single instance or sticky sessions.
+@Service
+public class TodoCollectionVersions {
+
+    private final String epoch = Long.toString(System.currentTimeMillis(), Character.MAX_RADIX);
+    private final Map<Integer, AtomicLong> versions = new ConcurrentHashMap<>();
+
+    public String stamp(Integer userId) {
+        return epoch + "." + userId + "." + Long.toString(version(userId).get(), Character.MAX_RADIX);
+    }
+
+    public void bump(Integer userId) {
+        AtomicLong version = version(userId);
+        version.incrementAndGet();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    version.incrementAndGet();
+                }
+            });
+        }
+    }
+
+    private AtomicLong version(Integer userId) {
+        return versions.computeIfAbsent(userId, id -> new AtomicLong());
+    }
+}
@@ -0,0 +1,201 @@
+package com.cedar.todoapp.services;
+
+import com.cedar.todoapp.configs.ReadWriteRoutingDataSource;
+import com.cedar.todoapp.models.PendingCompletion;
+import com.cedar.todoapp.models.Todo;
+import com.cedar.todoapp.models.TodoStatsDelta;
+import com.cedar.todoapp.repositories.TodoRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class TodoCompletionQueue implements DisposableBean {
+
+    public static final String PENDING_METRIC = "todo.completion.pending";
+    public static final String FLUSH_METRIC = "todo.completion.flush";
+    public static final String COALESCED_METRIC = "todo.completion.coalesced";
+
+    private static final long SHUTDOWN_TIMEOUT_SECONDS = 10;
+
+    private final TodoRepository repository;
+    private final TodoStatsService statsService;
+    private final TodoCollectionVersions collectionVersions;
+    private final TodoDueDateScheduler dueDateScheduler;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${todo.completion.write-behind.enabled:false}")
+    private boolean enabled;
+
+    @Value("${todo.completion.write-behind.flush-interval-ms:250}")
+    private long flushIntervalMs;
+
+    @Value("${todo.completion.write-behind.max-pending:500}")
+    private int maxPending;
+
+    private final Map<Integer, PendingCompletion> pending = new ConcurrentHashMap<>();
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private final AtomicBoolean flushRequested = new AtomicBoolean();
+    private ScheduledExecutorService flusher;
+    private Timer flushTimer;
+    private Counter coalesced;
+
+    @PostConstruct
+    void init() {
+        Gauge.builder(PENDING_METRIC, pending, Map::size).register(meterRegistry);
+        flushTimer = meterRegistry.timer(FLUSH_METRIC);
+        coalesced = meterRegistry.counter(COALESCED_METRIC);
+        if (enabled) {
+            flusher = Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("todo-completion-flush-"));
+            flusher.scheduleWithFixedDelay(this::flushAllQuietly, flushIntervalMs, flushIntervalMs, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public Optional<PendingCompletion> findPending(Integer todoId) {
+        if (pending.isEmpty()) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(pending.get(todoId));
+    }
+
+    public void enqueue(Integer userId, Integer todoId, boolean completed) {
+        if (pending.put(todoId, new PendingCompletion(todoId, userId, completed)) != null) {
+            coalesced.increment();
+        }
+        if (pending.size() >= maxPending && flusher != null && flushRequested.compareAndSet(false, true)) {
+            flusher.execute(() -> {
+                flushRequested.set(false);
+                flushAllQuietly();
+            });
+        }
+    }
+
+    public boolean hasPending(Integer userId) {
+        return pending.values().stream().anyMatch(completion -> completion.userId().equals(userId));
+    }
+
+    // Joins the caller's transaction when there is one, so a flush never needs a second connection.
+    public void flush(Integer userId) {
+        if (!hasPending(userId)) {
+            return;
+        }
+        transactionTemplate.executeWithoutResult(status -> apply(completion -> completion.userId().equals(userId)));
+    }
+
+    public void flushAll() {
+        if (pending.isEmpty()) {
+            return;
+        }
+        transactionTemplate.executeWithoutResult(status -> apply(completion -> true));
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        if (flusher != null) {
+            flusher.shutdown();
+            if (!flusher.awaitTermination(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                log.warn("Completion flusher did not stop within {} seconds", SHUTDOWN_TIMEOUT_SECONDS);
+            }
+        }
+        flushAll();
+        log.info("Completion queue drained on shutdown");
+    }
+
+    private void flushAllQuietly() {
+        try {
+            flushAll();
+        } catch (RuntimeException ex) {
+            log.error("Failed to flush {} pending completion updates", pending.size(), ex);
+        }
+    }
+
+    private void apply(Predicate<PendingCompletion> selector) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        flushLock.lock();
+        List<PendingCompletion> completions = List.of();
+        try {
+            completions = pending.values().stream()
+                    .filter(selector)
+                    .filter(completion -> pending.remove(completion.todoId(), completion))
+                    .toList();
+            registerCompletion(completions, sample);
+            ReadWriteRoutingDataSource.recordWriters(completions.stream().map(PendingCompletion::userId).toList());
+        } catch (RuntimeException ex) {
+            requeue(completions);
+            flushLock.unlock();
+            throw ex;
+        }
+
+        Map<Integer, Todo> todos = repository.findAllById(completions.stream().map(PendingCompletion::todoId).toList())
+                .stream()
+                .collect(Collectors.toMap(Todo::getId, Function.identity()));
+        Map<Integer, TodoStatsDelta> deltas = new HashMap<>();
+        for (PendingCompletion completion : completions) {
+            Todo todo = todos.get(completion.todoId());
+            if (todo == null || Boolean.valueOf(completion.completed()).equals(todo.getCompleted())) {
+                continue;
+            }
+            TodoStatsDelta before = statsService.contribution(todo);
+            todo.setCompleted(completion.completed());
+            deltas.merge(completion.userId(), statsService.contribution(todo).minus(before), TodoStatsDelta::plus);
+            dueDateScheduler.schedule(completion.userId(), todo);
+        }
+        deltas.forEach((userId, delta) -> {
+            statsService.record(userId, delta);
+            collectionVersions.bump(userId);
+        });
+        log.debug("Flushing {} pending completion updates", completions.size());
+    }
+
+    private void registerCompletion(List<PendingCompletion> completions, Timer.Sample sample) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                try {
+                    if (status != STATUS_COMMITTED) {
+                        requeue(completions);
+                    }
+                } finally {
+                    flushLock.unlock();
+                    sample.stop(flushTimer);
+                }
+            }
+        });
+    }
+
+    private void requeue(List<PendingCompletion> completions) {
+        completions.forEach(completion -> pending.putIfAbsent(completion.todoId(), completion));
+    }
+}
@@ -0,0 +1,234 @@
+package com.cedar.todoapp.services;
+
+import com.cedar.todoapp.models.Todo;
+import com.cedar.todoapp.models.TodoDueDate;
+import com.cedar.todoapp.models.TodoDueWatermark;
+import com.cedar.todoapp.models.TodoOverdueEvent;
+import com.cedar.todoapp.repositories.TodoDueWatermarkRepository;
+import com.cedar.todoapp.repositories.TodoRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class TodoDueDateScheduler implements SmartInitializingSingleton, DisposableBean {
+
+    public static final String OVERDUE_TRANSITIONS_METRIC = "todo.overdue.transitions";
+    public static final String SCHEDULED_METRIC = "todo.due.scheduled";
+
+    private final TodoRepository todoRepository;
+    private final TodoDueWatermarkRepository watermarkRepository;
+    private final MeterRegistry meterRegistry;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${todo.due.tick-ms:1000}")
+    private long tickMs;
+
+    @Value("${todo.due.wheel-size:60}")
+    private int wheelSize;
+
+    @Value("${todo.due.window-minutes:60}")
+    private long windowMinutes;
+
+    @Value("${todo.due.max-catch-up-minutes:1440}")
+    private long maxCatchUpMinutes;
+
+    private final Map<Integer, TodoDueDate> scheduled = new HashMap<>();
+    private final List<TodoDueDate> dueNow = new ArrayList<>();
+    private final Map<Integer, LocalDateTime> reloads = new HashMap<>();
+    private TimingWheel<TodoDueDate> wheel;
+    private Counter overdueTransitions;
+    private volatile LocalDateTime horizon;
+    private volatile LocalDateTime advancedTo;
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        start(LocalDateTime.now());
+    }
+
+    @Override
+    public void destroy() {
+        if (advancedTo != null) {
+            saveWatermark(advancedTo);
+        }
+    }
+
+    // Resumes from the persisted watermark so todos that became due while no instance was running still fire once.
+    void start(LocalDateTime now) {
+        LocalDateTime earliest = now.minusMinutes(maxCatchUpMinutes);
+        LocalDateTime from = watermarkRepository.findById(TodoDueWatermark.SINGLETON_ID)
+                .map(TodoDueWatermark::getFiredThrough)
+                .map(firedThrough -> firedThrough.isBefore(earliest) ? earliest : firedThrough)
+                .filter(firedThrough -> firedThrough.isBefore(now))
+                .orElse(now);
+        synchronized (this) {
+            wheel = new TimingWheel<>(tickMs, wheelSize, toMillis(from));
+            scheduled.clear();
+            dueNow.clear();
+            reloads.clear();
+            horizon = from;
+            advancedTo = from;
+        }
+        overdueTransitions = meterRegistry.counter(OVERDUE_TRANSITIONS_METRIC);
+        Gauge.builder(SCHEDULED_METRIC, this, scheduler -> scheduler.scheduledCount())
+                .register(meterRegistry);
+        loadWindow(from);
+    }
+
+    public void schedule(Integer userId, Todo todo) {
+        if (Boolean.TRUE.equals(todo.getCompleted()) || todo.getDueDate() == null || !todo.getDueDate().isAfter(LocalDateTime.now())) {
+            cancel(todo.getId());
+            return;
+        }
+        TodoDueDate dueDate = new TodoDueDate(todo.getId(), userId, todo.getDueDate());
+        afterCommit(() -> add(dueDate, true));
+    }
+
+    public void reload(Integer todoId) {
+        LocalDateTime requestedAt = LocalDateTime.now();
+        afterCommit(() -> {
+            synchronized (this) {
+                scheduled.remove(todoId);
+                reloads.put(todoId, requestedAt);
+            }
+        });
+    }
+
+    public void cancel(Integer todoId) {
+        afterCommit(() -> {
+            synchronized (this) {
+                scheduled.remove(todoId);
+                reloads.remove(todoId);
+            }
+        });
+    }
+
+    public synchronized int scheduledCount() {
+        return scheduled.size();
+    }
+
+    @Scheduled(fixedDelayString = "${todo.due.tick-ms:1000}")
+    public void tick() {
+        advance(LocalDateTime.now());
+    }
+
+    void advance(LocalDateTime now) {
+        while (!now.plus(window().dividedBy(2)).isBefore(horizon)) {
+            loadWindow(horizon);
+        }
+        reloadRequested();
+
+        List<TodoDueDate> due;
+        synchronized (this) {
+            dueNow.addAll(wheel.advance(toMillis(now)));
+            due = dueNow.stream()
+                    .filter(item -> scheduled.remove(item.todoId(), item))
+                    .toList();
+            dueNow.clear();
+        }
+        advancedTo = now;
+        if (due.isEmpty()) {
+            return;
+        }
+
+        // The watermark and the open check share one transaction, and events go out only after it commits,
+        // so a listener that reads the todo back sees the state the transition was decided on.
+        transactionTemplate.executeWithoutResult(status -> {
+            saveWatermark(now);
+            todoRepository.findOpenDueDatesByIdIn(due.stream().map(TodoDueDate::todoId).toList()).stream()
+                    .filter(item -> !item.dueDate().isAfter(now))
+                    .forEach(item -> afterCommit(() -> fire(item)));
+        });
+    }
+
+    private void fire(TodoDueDate item) {
+        log.debug("Todo {} of user {} became overdue at {}", item.todoId(), item.userId(), item.dueDate());
+        eventPublisher.publishEvent(new TodoOverdueEvent(item.todoId(), item.userId(), item.dueDate()));
+        overdueTransitions.increment();
+    }
+
+    private void reloadRequested() {
+        Map<Integer, LocalDateTime> requested;
+        synchronized (this) {
+            if (reloads.isEmpty()) {
+                return;
+            }
+            requested = Map.copyOf(reloads);
+            reloads.clear();
+        }
+        todoRepository.findOpenDueDatesByIdIn(requested.keySet()).stream()
+                .filter(todo -> todo.dueDate() != null && todo.dueDate().isAfter(requested.get(todo.todoId())))
+                .forEach(todo -> add(todo, true));
+    }
+
+    // The horizon moves before the query runs. A todo committed during the load is either returned by the query
+    // or added by its after-commit callback against the new horizon.
+    private void loadWindow(LocalDateTime from) {
+        LocalDateTime to = from.plus(window());
+        horizon = to;
+        List<TodoDueDate> todos = todoRepository.findOpenDueBetween(from, to);
+        todos.forEach(todo -> add(todo, false));
+        log.debug("Loaded {} todos due between {} and {}", todos.size(), from, to);
+    }
+
+    private synchronized void add(TodoDueDate todo, boolean replace) {
+        if (todo.dueDate().isAfter(horizon)) {
+            scheduled.remove(todo.todoId());
+            return;
+        }
+        if (!replace && scheduled.containsKey(todo.todoId())) {
+            return;
+        }
+        if (!wheel.add(todo, toMillis(todo.dueDate()))) {
+            dueNow.add(todo);
+        }
+        scheduled.put(todo.todoId(), todo);
+    }
+
+    private void saveWatermark(LocalDateTime firedThrough) {
+        watermarkRepository.save(new TodoDueWatermark(TodoDueWatermark.SINGLETON_ID, firedThrough));
+    }
+
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private Duration window() {
+        return Duration.ofMinutes(windowMinutes);
+    }
+
+    private long toMillis(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
@@ -0,0 +1,212 @@
+package com.cedar.todoapp.services;
+
+import com.cedar.todoapp.dtos.BatchItemResult;
+import com.cedar.todoapp.dtos.BatchResponse;
+import com.cedar.todoapp.dtos.CreateTodoRequest;
+import com.cedar.todoapp.dtos.ImportResponse;
+import com.cedar.todoapp.dtos.ImportRowError;
+import com.cedar.todoapp.models.Priority;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class TodoImportService {
+
+    static final int BATCH_SIZE = 500;
+    static final int MAX_REPORTED_ERRORS = 100;
+
+    private static final List<String> CSV_COLUMNS = List.of("title", "description", "dueDate", "priority");
+
+    private final TodoService todoService;
+    private final ObjectMapper objectMapper;
+
+    public ImportResponse importNdjson(InputStream input) throws IOException {
+        ImportSummary summary = new ImportSummary();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8))) {
+            String line;
+            long row = 0;
+            while ((line = reader.readLine()) != null) {
+                row++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                try {
+                    summary.add(row, objectMapper.readValue(line, CreateTodoRequest.class));
+                } catch (JsonProcessingException ex) {
+                    summary.reject(row, "Malformed JSON record");
+                }
+            }
+        }
+        return summary.finish();
+    }
+
+    public ImportResponse importCsv(InputStream input) throws IOException {
+        ImportSummary summary = new ImportSummary();
+        try (CsvReader reader = new CsvReader(new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8)))) {
+            List<String> header = reader.next();
+            if (header == null) {
+                return summary.finish();
+            }
+            int[] columns = CSV_COLUMNS.stream().mapToInt(header::indexOf).toArray();
+            if (columns[0] < 0) {
+                summary.reject(0, "CSV header must contain a title column");
+                return summary.finish();
+            }
+
+            List<String> record;
+            long row = 0;
+            while ((record = reader.next()) != null) {
+                row++;
+                if (record.size() == 1 && record.get(0).isBlank()) {
+                    continue;
+                }
+                try {
+                    summary.add(row, new CreateTodoRequest(
+                            column(record, columns[0]),
+                            column(record, columns[1]),
+                            parseDueDate(column(record, columns[2])),
+                            parsePriority(column(record, columns[3]))
+                    ));
+                } catch (IllegalArgumentException | DateTimeParseException ex) {
+                    summary.reject(row, "Invalid value: " + ex.getMessage());
+                }
+            }
+        }
+        return summary.finish();
+    }
+
+    private static String column(List<String> record, int index) {
+        if (index < 0 || index >= record.size() || record.get(index).isEmpty()) {
+            return null;
+        }
+        return record.get(index);
+    }
+
+    private static LocalDateTime parseDueDate(String value) {
+        return value == null ? null : LocalDateTime.parse(value.trim());
+    }
+
+    private static Priority parsePriority(String value) {
+        return value == null ? null : Priority.valueOf(value.trim().toUpperCase(Locale.ROOT));
+    }
+
+    private class ImportSummary {
+
+        private final List<CreateTodoRequest> batch = new ArrayList<>(BATCH_SIZE);
+        private final List<Long> batchRows = new ArrayList<>(BATCH_SIZE);
+        private final List<ImportRowError> errors = new ArrayList<>();
+        private long accepted;
+        private long rejected;
+
+        void add(long row, CreateTodoRequest request) {
+            batch.add(request);
+            batchRows.add(row);
+            if (batch.size() == BATCH_SIZE) {
+                flush();
+            }
+        }
+
+        void reject(long row, String error) {
+            rejected++;
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add(new ImportRowError(row, error));
+            }
+        }
+
+        ImportResponse finish() {
+            flush();
+            log.info("Todo import finished with {} accepted and {} rejected rows", accepted, rejected);
+            return new ImportResponse(accepted, rejected, List.copyOf(errors));
+        }
+
+        private void flush() {
+            if (batch.isEmpty()) {
+                return;
+            }
+            BatchResponse response = todoService.createTodos(batch);
+            accepted += response.succeeded();
+            for (BatchItemResult result : response.results()) {
+                if (result.error() != null) {
+                    reject(batchRows.get(result.index()), result.error());
+                }
+            }
+            batch.clear();
+            batchRows.clear();
+        }
+    }
+
+    static class CsvReader implements AutoCloseable {
+
+        private final Reader reader;
+
+        CsvReader(Reader reader) {
+            this.reader = reader;
+        }
+
+        List<String> next() throws IOException {
+            List<String> record = new ArrayList<>();
+            StringBuilder field = new StringBuilder();
+            boolean quoted = false;
+            boolean any = false;
+            int c;
+
+            while ((c = reader.read()) != -1) {
+                any = true;
+                if (quoted) {
+                    if (c == '"') {
+                        reader.mark(1);
+                        int following = reader.read();
+                        if (following == '"') {
+                            field.append('"');
+                        } else {
+                            quoted = false;
+                            if (following != -1) {
+                                reader.reset();
+                            }
+                        }
+                    } else {
+                        field.append((char) c);
+                    }
+                } else if (c == '"') {
+                    quoted = true;
+                } else if (c == ',') {
+                    record.add(field.toString());
+                    field.setLength(0);
+                } else if (c == '\n') {
+                    record.add(field.toString());
+                    return record;
+                } else if (c != '\r') {
+                    field.append((char) c);
+                }
+            }
+
+            if (!any) {
+                return null;
+            }
+            record.add(field.toString());
+            return record;
+        }
+
+        @Override
+        public void close() throws IOException {
+            reader.close();
+        }
+    }
+}
@@ -0,0 +1,214 @@
+package com.cedar.todoapp.services;
+
+import com.cedar.todoapp.models.TodoSearchDocument;
+import com.cedar.todoapp.repositories.TodoRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class TodoSearchIndex implements SmartInitializingSingleton {
+
+    private static final Pattern TOKEN_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final int TITLE_WEIGHT = 2;
+    private static final int DESCRIPTION_WEIGHT = 1;
+    private static final double PREFIX_MATCH_FACTOR = 0.5;
+
+    private final TodoRepository repository;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${todo.search.index.enabled:false}")
+    private boolean enabled;
+
+    @Value("${todo.search.index.max-hits:1000}")
+    private int maxHits;
+
+    private final Map<Integer, UserIndex> indexes = new ConcurrentHashMap<>();
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (enabled) {
+            rebuild();
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void rebuild() {
+        AtomicLong indexed = new AtomicLong();
+        indexes.clear();
+        transactionTemplate.executeWithoutResult(status -> {
+            try (Stream<TodoSearchDocument> documents = repository.streamSearchDocuments()) {
+                documents.forEach(document -> {
+                    userIndex(document.userId()).put(document.id(), document(document.title(), document.description()));
+                    indexed.incrementAndGet();
+                });
+            }
+        });
+        log.info("Search index rebuilt with {} todos for {} users", indexed.get(), indexes.size());
+    }
+
+    public void index(Integer userId, Integer todoId, String title, String description) {
+        if (!enabled) {
+            return;
+        }
+        Document document = document(title, description);
+        afterCommit(() -> userIndex(userId).put(todoId, document));
+    }
+
+    public void update(Integer userId, Integer todoId, String title, String description) {
+        if (!enabled) {
+            return;
+        }
+        Map<String, Integer> titleTerms = title == null ? null : termWeights(title, TITLE_WEIGHT);
+        Map<String, Integer> descriptionTerms = description == null ? null : termWeights(description, DESCRIPTION_WEIGHT);
+        afterCommit(() -> userIndex(userId).update(todoId, titleTerms, descriptionTerms));
+    }
+
+    public void remove(Integer userId, Integer todoId) {
+        if (!enabled) {
+            return;
+        }
+        afterCommit(() -> {
+            UserIndex index = indexes.get(userId);
+            if (index != null) {
+                index.remove(todoId);
+            }
+        });
+    }
+
+    public List<Integer> search(Integer userId, String query) {
+        List<String> tokens = tokenize(query).distinct().toList();
+        UserIndex index = indexes.get(userId);
+        if (index == null || tokens.isEmpty()) {
+            return List.of();
+        }
+        return index.search(tokens, maxHits);
+    }
+
+    static Stream<String> tokenize(String text) {
+        if (text == null) {
+            return Stream.empty();
+        }
+        return TOKEN_SEPARATOR.splitAsStream(text.toLowerCase(Locale.ROOT))
+                .filter(token -> !token.isEmpty());
+    }
+
+    private static Document document(String title, String description) {
+        return new Document(termWeights(title, TITLE_WEIGHT), termWeights(description, DESCRIPTION_WEIGHT));
+    }
+
+    private static Map<String, Integer> termWeights(String text, int weight) {
+        Map<String, Integer> terms = new HashMap<>();
+        tokenize(text).forEach(token -> terms.merge(token, weight, Integer::sum));
+        return terms;
+    }
+
+    private UserIndex userIndex(Integer userId) {
+        return indexes.computeIfAbsent(userId, id -> new UserIndex());
+    }
+
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private record Document(Map<String, Integer> titleTerms, Map<String, Integer> descriptionTerms) {
+
+        Map<String, Integer> terms() {
+            Map<String, Integer> terms = new HashMap<>(titleTerms);
+            descriptionTerms.forEach((term, weight) -> terms.merge(term, weight, Integer::sum));
+            return terms;
+        }
+    }
+
+    private static final class UserIndex {
+
+        private final NavigableMap<String, Map<Integer, Integer>> postings = new TreeMap<>();
+        private final Map<Integer, Document> documents = new HashMap<>();
+
+        synchronized void put(Integer todoId, Document document) {
+            remove(todoId);
+            documents.put(todoId, document);
+            document.terms().forEach((term, weight) -> postings.computeIfAbsent(term, t -> new HashMap<>()).put(todoId, weight));
+        }
+
+        synchronized void update(Integer todoId, Map<String, Integer> titleTerms, Map<String, Integer> descriptionTerms) {
+            Document current = documents.getOrDefault(todoId, new Document(Map.of(), Map.of()));
+            put(todoId, new Document(
+                    titleTerms == null ? current.titleTerms() : titleTerms,
+                    descriptionTerms == null ? current.descriptionTerms() : descriptionTerms));
+        }
+
+        synchronized void remove(Integer todoId) {
+            Document document = documents.remove(todoId);
+            if (document == null) {
+                return;
+            }
+            for (String term : document.terms().keySet()) {
+                Map<Integer, Integer> posting = postings.get(term);
+                posting.remove(todoId);
+                if (posting.isEmpty()) {
+                    postings.remove(term);
+                }
+            }
+        }
+
+        synchronized List<Integer> search(List<String> tokens, int limit) {
+            Map<Integer, Double> scores = null;
+            for (String token : tokens) {
+                Map<Integer, Double> tokenScores = scoreToken(token);
+                if (scores == null) {
+                    scores = tokenScores;
+                } else {
+                    scores.keySet().retainAll(tokenScores.keySet());
+                    scores.replaceAll((todoId, score) -> score + tokenScores.get(todoId));
+                }
+                if (scores.isEmpty()) {
+                    return List.of();
+                }
+            }
+
+            return scores.entrySet().stream()
+                    .sorted(Map.Entry.<Integer, Double>comparingByValue().reversed()
+                            .thenComparing(Map.Entry.comparingByKey()))
+                    .limit(limit)
+                    .map(Map.Entry::getKey)
+                    .toList();
+        }
+
+        private Map<Integer, Double> scoreToken(String token) {
+            Map<Integer, Double> scores = new HashMap<>();
+            String upperBound = token + Character.MAX_VALUE;
+            postings.subMap(token, true, upperBound, false).forEach((term, posting) -> {
+                double idf = Math.log(1 + (double) documents.size() / posting.size());
+                double factor = term.equals(token) ? 1.0 : PREFIX_MATCH_FACTOR;
+                posting.forEach((todoId, weight) -> scores.merge(todoId, weight * idf * factor, Double::sum));
+            });
+            return scores;
+        }
+    }
+}
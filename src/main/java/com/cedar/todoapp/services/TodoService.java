@@ -1,62 +1,326 @@
 package com.cedar.todoapp.services;
 
+import com.cedar.todoapp.dtos.BatchItemResult;
+import com.cedar.todoapp.dtos.BatchResponse;
 import com.cedar.todoapp.dtos.CreateTodoRequest;
 import com.cedar.todoapp.dtos.TodoResponse;
+import com.cedar.todoapp.dtos.TodoStatsResponse;
 import com.cedar.todoapp.dtos.UpdateTodoRequest;
+import com.cedar.todoapp.dtos.VersionedTodoResponse;
 import com.cedar.todoapp.exceptions.TodoNotFoundException;
+import com.cedar.todoapp.exceptions.TodoVersionMismatchException;
 import com.cedar.todoapp.exceptions.UserNotFoundException;
 import com.cedar.todoapp.mappers.TodoMapper;
+import com.cedar.todoapp.models.AuthenticatedUser;
 import com.cedar.todoapp.models.Todo;
+import com.cedar.todoapp.models.TodoField;
+import com.cedar.todoapp.models.TodoStatsDelta;
 import com.cedar.todoapp.models.User;
 import com.cedar.todoapp.repositories.TodoRepository;
 import com.cedar.todoapp.repositories.UserRepository;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.http.HttpStatus;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
+@Timed(TodoService.METRIC_NAME)
 public class TodoService {
 
     private final TodoRepository repository;
     private final UserRepository userRepository;
     private final TodoMapper mapper;
+    private final TodoSearchIndex searchIndex;
+    private final TodoStatsService statsService;
+    private final TodoCollectionVersions collectionVersions;
+    private final TodoDueDateScheduler dueDateScheduler;
+    private final TodoCompletionQueue completionQueue;
+    private final Validator validator;
+    private final EntityManager entityManager;
+    private final PlatformTransactionManager transactionManager;
+
+    public static final String RELEVANCE_SORT = "relevance";
+    public static final String METRIC_NAME = "todo.service";
 
+    private static final Set<TodoField> ALL_FIELDS = Collections.unmodifiableSet(EnumSet.allOf(TodoField.class));
     private static final String TODO_NOT_FOUND = "Todo with ID %d not found for this user";
+    private static final String ITEM_REQUIRED = "Item is required";
+    private static final String TODO_VERSION_MISMATCH = "Todo with ID %d has been modified since it was read";
+
+    private Integer getAuthenticatedUserId() {
+        Object principal = SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+        if (principal instanceof AuthenticatedUser authenticatedUser) {
+            return authenticatedUser.id();
+        }
+        if (principal instanceof User user) {
+            return user.getId();
+        }
 
-    private User getAuthenticatedUser() {
-        UserDetails userDetails = (UserDetails) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+        UserDetails userDetails = (UserDetails) principal;
         return userRepository.findByEmail(userDetails.getUsername())
+                .map(User::getId)
                 .orElseThrow(() -> new UserNotFoundException("User not found"));
     }
 
-    private Todo getTodoForUserById(Integer id, User user) {
-        return repository.findByIdAndUser(id, user)
-                .orElseThrow(() -> new TodoNotFoundException(String.format(TODO_NOT_FOUND, id)));
+    private Map<Integer, Todo> getTodosForUserByIds(Collection<Integer> ids, Integer userId) {
+        List<Integer> lookupIds = ids.stream().filter(Objects::nonNull).distinct().toList();
+        if (lookupIds.isEmpty()) {
+            return Map.of();
+        }
+        return repository.findByUserIdAndIdIn(userId, lookupIds).stream()
+                .collect(Collectors.toMap(Todo::getId, Function.identity()));
+    }
+
+    private TodoResponse withPendingCompletion(TodoResponse todo) {
+        return completionQueue.findPending(todo.id())
+                .filter(pending -> pending.completed() != todo.completed())
+                .map(pending -> new TodoResponse(todo.id(), todo.title(), todo.description(), todo.dueDate(), todo.priority(), pending.completed()))
+                .orElse(todo);
+    }
+
+    // Writes call this inside their own transaction, so the flush joins it and reuses its connection.
+    private void flushPendingCompletions(Integer userId) {
+        if (completionQueue.isEnabled() && completionQueue.hasPending(userId)) {
+            completionQueue.flush(userId);
+        }
+    }
+
+    // Reads flush in a write transaction of their own before the read-only one opens, so a request never
+    // holds two connections and the read-only transaction never writes.
+    private <T> T readAfterFlush(Integer userId, TransactionCallback<T> query) {
+        flushPendingCompletions(userId);
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        return readOnly.execute(query);
+    }
+
+    private void recordChange(Integer userId, TodoStatsDelta delta) {
+        statsService.record(userId, delta);
+        collectionVersions.bump(userId);
     }
 
+    private String validate(Object request) {
+        if (request == null) {
+            return ITEM_REQUIRED;
+        }
+        return validator.validate(request).stream()
+                .map(ConstraintViolation::getMessage)
+                .sorted()
+                .reduce((first, second) -> first + "; " + second)
+                .orElse(null);
+    }
+
+    @Transactional
     public Integer createTodo(CreateTodoRequest request) {
-        User user = getAuthenticatedUser();
+        Integer userId = getAuthenticatedUserId();
         Todo todo = mapper.toEntity(request);
-        todo.setUser(user);
+        todo.setUser(userRepository.getReferenceById(userId));
         Todo createdTodo = repository.save(todo);
+        recordChange(userId, statsService.contribution(createdTodo));
+        searchIndex.index(userId, createdTodo.getId(), createdTodo.getTitle(), createdTodo.getDescription());
+        dueDateScheduler.schedule(userId, createdTodo);
         log.info("Todo created with ID: {}", todo.getId());
         return createdTodo.getId();
     }
 
     @Transactional
     public void updateTodo(UpdateTodoRequest request) {
-        User user = getAuthenticatedUser();
-        Todo todo = getTodoForUserById(request.id(), user);
-        updateTodoFields(todo, request);
-        repository.save(todo);
-        log.info("Todo updated with ID: {}", todo.getId());
+        updateTodo(request, null);
+    }
+
+    @Transactional
+    public void updateTodo(UpdateTodoRequest request, Collection<Long> expectedVersions) {
+        Integer userId = getAuthenticatedUserId();
+        flushPendingCompletions(userId);
+        boolean statsChanged = request.completed() != null || request.dueDate() != null || request.priority() != null;
+        if (statsChanged) {
+            statsService.removeContribution(userId, request.id());
+        }
+        if (repository.updateFields(request, userId, expectedVersions) == 0) {
+            if (expectedVersions != null && repository.existsByIdAndUserId(request.id(), userId)) {
+                throw new TodoVersionMismatchException(String.format(TODO_VERSION_MISMATCH, request.id()));
+            }
+            throw new TodoNotFoundException(String.format(TODO_NOT_FOUND, request.id()));
+        }
+        if (statsChanged) {
+            statsService.addContribution(userId, request.id());
+        }
+        collectionVersions.bump(userId);
+        if (request.title() != null || request.description() != null) {
+            searchIndex.update(userId, request.id(), request.title(), request.description());
+        }
+        if (Boolean.TRUE.equals(request.completed())) {
+            dueDateScheduler.cancel(request.id());
+        } else if (request.completed() != null || request.dueDate() != null) {
+            dueDateScheduler.reload(request.id());
+        }
+        log.info("Todo updated with ID: {}", request.id());
+    }
+
+    @Transactional
+    public BatchResponse createTodos(List<CreateTodoRequest> requests) {
+        Integer userId = getAuthenticatedUserId();
+        User user = userRepository.getReferenceById(userId);
+        BatchItemResult[] results = new BatchItemResult[requests.size()];
+        Map<Integer, Todo> todos = new LinkedHashMap<>();
+
+        for (int i = 0; i < requests.size(); i++) {
+            String error = validate(requests.get(i));
+            if (error != null) {
+                results[i] = new BatchItemResult(i, null, HttpStatus.BAD_REQUEST.value(), error);
+                continue;
+            }
+            Todo todo = mapper.toEntity(requests.get(i));
+            todo.setUser(user);
+            todos.put(i, todo);
+        }
+
+        repository.saveAll(todos.values());
+        recordChange(userId, todos.values().stream()
+                .map(statsService::contribution)
+                .reduce(TodoStatsDelta.ZERO, TodoStatsDelta::plus));
+        todos.forEach((i, todo) -> {
+            searchIndex.index(userId, todo.getId(), todo.getTitle(), todo.getDescription());
+            dueDateScheduler.schedule(userId, todo);
+            results[i] = new BatchItemResult(i, todo.getId(), HttpStatus.CREATED.value(), null);
+        });
+        log.info("{} todos created in batch", todos.size());
+        return BatchResponse.of(List.of(results));
+    }
+
+    @Transactional
+    public BatchResponse updateTodos(List<UpdateTodoRequest> requests) {
+        Integer userId = getAuthenticatedUserId();
+        flushPendingCompletions(userId);
+        Map<Integer, Todo> todos = getTodosForUserByIds(
+                requests.stream().filter(Objects::nonNull).map(UpdateTodoRequest::id).toList(), userId);
+        List<BatchItemResult> results = new ArrayList<>(requests.size());
+        TodoStatsDelta delta = TodoStatsDelta.ZERO;
+
+        for (int i = 0; i < requests.size(); i++) {
+            UpdateTodoRequest request = requests.get(i);
+            String error = validate(request);
+            if (error != null) {
+                results.add(new BatchItemResult(i, null, HttpStatus.BAD_REQUEST.value(), error));
+                continue;
+            }
+            Todo todo = todos.get(request.id());
+            if (todo == null) {
+                results.add(new BatchItemResult(i, request.id(), HttpStatus.NOT_FOUND.value(), String.format(TODO_NOT_FOUND, request.id())));
+                continue;
+            }
+            TodoStatsDelta before = statsService.contribution(todo);
+            updateTodoFields(todo, request);
+            delta = delta.plus(statsService.contribution(todo).minus(before));
+            searchIndex.index(userId, todo.getId(), todo.getTitle(), todo.getDescription());
+            dueDateScheduler.schedule(userId, todo);
+            results.add(new BatchItemResult(i, todo.getId(), HttpStatus.OK.value(), null));
+        }
+
+        recordChange(userId, delta);
+
+        log.info("{} todos updated in batch", todos.size());
+        return BatchResponse.of(results);
+    }
+
+    @Transactional
+    public BatchResponse updateTodoCompletionStatuses(List<Integer> ids, boolean completed) {
+        Integer userId = getAuthenticatedUserId();
+        flushPendingCompletions(userId);
+        Map<Integer, Todo> todos = getTodosForUserByIds(ids, userId);
+        List<BatchItemResult> results = new ArrayList<>(ids.size());
+        TodoStatsDelta delta = TodoStatsDelta.ZERO;
+
+        for (int i = 0; i < ids.size(); i++) {
+            Integer id = ids.get(i);
+            Todo todo = id == null ? null : todos.get(id);
+            if (todo == null) {
+                results.add(notFoundOrMissing(i, id));
+                continue;
+            }
+            TodoStatsDelta before = statsService.contribution(todo);
+            todo.setCompleted(completed);
+            delta = delta.plus(statsService.contribution(todo).minus(before));
+            dueDateScheduler.schedule(userId, todo);
+            results.add(new BatchItemResult(i, id, HttpStatus.OK.value(), null));
+        }
+
+        recordChange(userId, delta);
+
+        log.info("Completion status updated to {} for {} todos in batch", completed, todos.size());
+        return BatchResponse.of(results);
+    }
+
+    @Transactional
+    public BatchResponse deleteTodos(List<Integer> ids) {
+        Integer userId = getAuthenticatedUserId();
+        flushPendingCompletions(userId);
+        Map<Integer, Todo> todos = getTodosForUserByIds(ids, userId);
+        List<BatchItemResult> results = new ArrayList<>(ids.size());
+
+        for (int i = 0; i < ids.size(); i++) {
+            Integer id = ids.get(i);
+            if (id == null || !todos.containsKey(id)) {
+                results.add(notFoundOrMissing(i, id));
+                continue;
+            }
+            searchIndex.remove(userId, id);
+            dueDateScheduler.cancel(id);
+            results.add(new BatchItemResult(i, id, HttpStatus.NO_CONTENT.value(), null));
+        }
+
+        repository.deleteAllInBatch(todos.values());
+        recordChange(userId, todos.values().stream()
+                .map(statsService::contribution)
+                .reduce(TodoStatsDelta.ZERO, TodoStatsDelta::minus));
+        log.info("{} todos deleted in batch", todos.size());
+        return BatchResponse.of(results);
+    }
+
+    private BatchItemResult notFoundOrMissing(int index, Integer id) {
+        if (id == null) {
+            return new BatchItemResult(index, null, HttpStatus.BAD_REQUEST.value(), ITEM_REQUIRED);
+        }
+        return new BatchItemResult(index, id, HttpStatus.NOT_FOUND.value(), String.format(TODO_NOT_FOUND, id));
     }
 
     private void updateTodoFields(Todo todo, UpdateTodoRequest request) {
@@ -69,40 +333,276 @@ public class TodoService {
 
     @Transactional
     public void deleteTodo(Integer id) {
-        User user = getAuthenticatedUser();
-        Todo todo = getTodoForUserById(id, user);
-        repository.delete(todo);
+        Integer userId = getAuthenticatedUserId();
+        flushPendingCompletions(userId);
+        statsService.removeContribution(userId, id);
+        if (repository.deleteByIdAndUserId(id, userId) == 0) {
+            throw new TodoNotFoundException(String.format(TODO_NOT_FOUND, id));
+        }
+        collectionVersions.bump(userId);
+        searchIndex.remove(userId, id);
+        dueDateScheduler.cancel(id);
         log.info("Todo deleted with ID: {}", id);
     }
 
-    public TodoResponse findByIdAndUser(Integer id) {
-        User user = getAuthenticatedUser();
-        return mapper.toResponse(getTodoForUserById(id, user));
+    public TodoStatsResponse getTodoStats() {
+        Integer userId = getAuthenticatedUserId();
+        flushPendingCompletions(userId);
+        return statsService.getStats(userId);
     }
 
+    public String getCollectionStamp() {
+        return collectionVersions.stamp(getAuthenticatedUserId());
+    }
+
+    @Transactional(readOnly = true)
+    public VersionedTodoResponse findByIdAndUser(Integer id) {
+        return findByIdAndUser(id, null);
+    }
+
+    @Transactional(readOnly = true)
+    public VersionedTodoResponse findByIdAndUser(Integer id, Set<TodoField> fields) {
+        Integer userId = getAuthenticatedUserId();
+        Optional<VersionedTodoResponse> todo = fields == null
+                ? repository.findResponseByIdAndUserId(id, userId)
+                : repository.findFieldsByIdAndUserId(id, userId, fields);
+        return todo
+                .map(response -> new VersionedTodoResponse(withPendingCompletion(response.todo()), response.version()))
+                .orElseThrow(() -> new TodoNotFoundException(String.format(TODO_NOT_FOUND, id)));
+    }
+
+    @Transactional(readOnly = true)
     public Page<TodoResponse> findAllTodos(Pageable pageable) {
-        User user = getAuthenticatedUser();
-        return repository.findByUser(user, pageable).map(mapper::toResponse);
+        return findAllTodos(pageable, null);
+    }
+
+    @Transactional(readOnly = true)
+    public Page<TodoResponse> findAllTodos(Pageable pageable, Set<TodoField> fields) {
+        Integer userId = getAuthenticatedUserId();
+        Page<TodoResponse> todos = fields == null
+                ? repository.findByUserId(userId, pageable, TodoResponse.class)
+                : repository.findFieldsByUserId(userId, null, null, fields, pageable);
+        return todos.map(this::withPendingCompletion);
+    }
+
+    @Transactional(readOnly = true)
+    public Slice<TodoResponse> findAllTodos(Pageable pageable, Set<TodoField> fields, boolean withTotal) {
+        if (withTotal) {
+            return findAllTodos(pageable, fields);
+        }
+        Integer userId = getAuthenticatedUserId();
+        Slice<TodoResponse> todos = fields == null
+                ? repository.findSliceByUserId(userId, pageable, TodoResponse.class)
+                : repository.findFieldsSliceByUserId(userId, null, null, fields, pageable);
+        return todos.map(this::withPendingCompletion);
+    }
+
+    @Transactional(readOnly = true)
+    public Window<TodoResponse> findAllTodos(ScrollPosition position, Limit limit, Sort sort) {
+        return findAllTodos(position, limit, sort, null);
+    }
+
+    @Transactional(readOnly = true)
+    public Window<TodoResponse> findAllTodos(ScrollPosition position, Limit limit, Sort sort, Set<TodoField> fields) {
+        Integer userId = getAuthenticatedUserId();
+        return repository.findFieldsByUserId(userId, null, null, fieldsOrAll(fields), position, limit, sort)
+                .map(this::withPendingCompletion);
     }
 
+    @Transactional(readOnly = true)
     public Page<TodoResponse> searchTodos(String keyword, Pageable pageable) {
-        User user = getAuthenticatedUser();
-        return repository.findByUserAndTitleContainingIgnoreCaseOrDescriptionContainingIgnoreCase(user, keyword, keyword, pageable)
-                .map(mapper::toResponse);
+        return searchTodos(keyword, pageable, null);
+    }
+
+    @Transactional(readOnly = true)
+    public Page<TodoResponse> searchTodos(String keyword, Pageable pageable, Set<TodoField> fields) {
+        Integer userId = getAuthenticatedUserId();
+        if (isSubstringSearch(keyword)) {
+            return repository.searchFieldsByUserId(userId, keyword, fieldsOrAll(fields), withoutRelevance(pageable))
+                    .map(this::withPendingCompletion);
+        }
+        List<Integer> hits = searchIndex.search(userId, keyword);
+        if (hits.isEmpty()) {
+            return Page.empty(pageable);
+        }
+        if (!isRelevanceSort(pageable.getSort())) {
+            Page<TodoResponse> todos = fields == null
+                    ? repository.findByUserIdAndIdIn(userId, hits, pageable, TodoResponse.class)
+                    : repository.findFieldsByUserId(userId, null, hits, fields, pageable);
+            return todos.map(this::withPendingCompletion);
+        }
+        return new PageImpl<>(findRelevantTodos(userId, hits, pageable, fields), pageable, hits.size());
+    }
+
+    @Transactional(readOnly = true)
+    public Slice<TodoResponse> searchTodos(String keyword, Pageable pageable, Set<TodoField> fields, boolean withTotal) {
+        if (withTotal) {
+            return searchTodos(keyword, pageable, fields);
+        }
+        Integer userId = getAuthenticatedUserId();
+        if (isSubstringSearch(keyword)) {
+            return repository.searchFieldsSliceByUserId(userId, keyword, fieldsOrAll(fields), withoutRelevance(pageable))
+                    .map(this::withPendingCompletion);
+        }
+        List<Integer> hits = searchIndex.search(userId, keyword);
+        if (hits.isEmpty()) {
+            return new SliceImpl<>(List.of(), pageable, false);
+        }
+        if (!isRelevanceSort(pageable.getSort())) {
+            Slice<TodoResponse> todos = fields == null
+                    ? repository.findSliceByUserIdAndIdIn(userId, hits, pageable, TodoResponse.class)
+                    : repository.findFieldsSliceByUserId(userId, null, hits, fields, pageable);
+            return todos.map(this::withPendingCompletion);
+        }
+        boolean hasNext = pageable.isPaged() && pageable.getOffset() + pageable.getPageSize() < hits.size();
+        return new SliceImpl<>(findRelevantTodos(userId, hits, pageable, fields), pageable, hasNext);
+    }
+
+    private List<TodoResponse> findRelevantTodos(Integer userId, List<Integer> hits, Pageable pageable, Set<TodoField> fields) {
+        List<Integer> pageIds = pageable.isPaged()
+                ? hits.subList((int) Math.min(pageable.getOffset(), hits.size()), (int) Math.min(pageable.getOffset() + pageable.getPageSize(), hits.size()))
+                : hits;
+        List<TodoResponse> pageTodos = fields == null
+                ? repository.findByUserIdAndIdIn(userId, pageIds, TodoResponse.class)
+                : repository.findFieldsByUserIdAndIdIn(userId, pageIds, fields);
+        Map<Integer, TodoResponse> todos = pageTodos.stream()
+                .collect(Collectors.toMap(TodoResponse::id, Function.identity()));
+        return pageIds.stream()
+                .map(todos::get)
+                .filter(Objects::nonNull)
+                .map(this::withPendingCompletion)
+                .toList();
+    }
+
+    @Transactional(readOnly = true)
+    public Window<TodoResponse> searchTodos(String keyword, ScrollPosition position, Limit limit, Sort sort) {
+        return searchTodos(keyword, position, limit, sort, null);
+    }
+
+    @Transactional(readOnly = true)
+    public Window<TodoResponse> searchTodos(String keyword, ScrollPosition position, Limit limit, Sort sort, Set<TodoField> fields) {
+        Integer userId = getAuthenticatedUserId();
+        if (isSubstringSearch(keyword)) {
+            return repository.searchFieldsByUserId(userId, keyword, fieldsOrAll(fields), position, limit, sort)
+                    .map(this::withPendingCompletion);
+        }
+        List<Integer> hits = searchIndex.search(userId, keyword);
+        if (hits.isEmpty()) {
+            return Window.from(List.of(), ScrollPosition::offset);
+        }
+        return repository.findFieldsByUserId(userId, null, hits, fieldsOrAll(fields), position, limit, sort)
+                .map(this::withPendingCompletion);
+    }
+
+    private boolean isRelevanceSort(Sort sort) {
+        return sort.isUnsorted() || sort.getOrderFor(RELEVANCE_SORT) != null;
+    }
+
+    private boolean isSubstringSearch(String keyword) {
+        return !searchIndex.isEnabled() || keyword.isEmpty();
+    }
+
+    private Pageable withoutRelevance(Pageable pageable) {
+        if (!isRelevanceSort(pageable.getSort())) {
+            return pageable;
+        }
+        Sort byId = Sort.by(TodoField.ID.getProperty());
+        return pageable.isPaged() ? PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), byId) : Pageable.unpaged(byId);
+    }
+
+    private Set<TodoField> fieldsOrAll(Set<TodoField> fields) {
+        return fields == null ? ALL_FIELDS : fields;
+    }
+
+    @Transactional(readOnly = true)
+    public void exportTodos(Consumer<TodoResponse> consumer) {
+        Integer userId = getAuthenticatedUserId();
+        try (Stream<Todo> todos = repository.streamByUserIdOrderById(userId)) {
+            todos.forEach(todo -> {
+                consumer.accept(withPendingCompletion(mapper.toResponse(todo)));
+                entityManager.detach(todo);
+            });
+        }
+        log.info("Todos exported for user ID: {}", userId);
     }
 
     @Transactional
     public void updateTodoCompletionStatus(Integer id, boolean completed) {
-        User user = getAuthenticatedUser();
-        Todo todo = getTodoForUserById(id, user);
-        todo.setCompleted(completed);
-        repository.save(todo);
+        Integer userId = getAuthenticatedUserId();
+        if (completionQueue.isEnabled()) {
+            boolean pending = completionQueue.findPending(id).filter(completion -> completion.userId().equals(userId)).isPresent();
+            if (!pending && !repository.existsByIdAndUserId(id, userId)) {
+                throw new TodoNotFoundException(String.format(TODO_NOT_FOUND, id));
+            }
+            completionQueue.enqueue(userId, id, completed);
+            collectionVersions.bump(userId);
+            log.debug("Todo completion status queued for ID: {} to {}", id, completed);
+            return;
+        }
+        if (repository.updateCompleted(id, userId, completed) == 0) {
+            if (!repository.existsByIdAndUserId(id, userId)) {
+                throw new TodoNotFoundException(String.format(TODO_NOT_FOUND, id));
+            }
+            return;
+        }
+        statsService.recordCompletion(userId, id, completed);
+        collectionVersions.bump(userId);
+        if (completed) {
+            dueDateScheduler.cancel(id);
+        } else {
+            dueDateScheduler.reload(id);
+        }
         log.info("Todo completion status updated for ID: {} to {}", id, completed);
     }
 
+    public Page<TodoResponse> findOverdueTodos(Pageable pageable) {
+        Integer userId = getAuthenticatedUserId();
+        return readAfterFlush(userId, status ->
+                repository.findByUserIdAndCompletedFalseAndDueDateLessThanEqual(userId, LocalDateTime.now(), pageable, TodoResponse.class));
+    }
+
+    public Page<TodoResponse> findUpcomingTodos(Duration within, Pageable pageable) {
+        Integer userId = getAuthenticatedUserId();
+        return readAfterFlush(userId, status -> {
+            LocalDateTime now = LocalDateTime.now();
+            return repository.findByUserIdAndCompletedFalseAndDueDateAfterAndDueDateLessThanEqual(userId, now, now.plus(within), pageable, TodoResponse.class);
+        });
+    }
+
     public Page<TodoResponse> findTodosByCompletionStatus(boolean completed, Pageable pageable) {
-        User user = getAuthenticatedUser();
-        return repository.findByUserAndCompleted(user, completed, pageable)
-                .map(mapper::toResponse);
+        return findTodosByCompletionStatus(completed, pageable, null);
+    }
+
+    public Page<TodoResponse> findTodosByCompletionStatus(boolean completed, Pageable pageable, Set<TodoField> fields) {
+        Integer userId = getAuthenticatedUserId();
+        return readAfterFlush(userId, status -> {
+            if (fields != null) {
+                return repository.findFieldsByUserId(userId, completed, null, fields, pageable);
+            }
+            return repository.findByUserIdAndCompleted(userId, completed, pageable, TodoResponse.class);
+        });
+    }
+
+    public Slice<TodoResponse> findTodosByCompletionStatus(boolean completed, Pageable pageable, Set<TodoField> fields, boolean withTotal) {
+        if (withTotal) {
+            return findTodosByCompletionStatus(completed, pageable, fields);
+        }
+        Integer userId = getAuthenticatedUserId();
+        return readAfterFlush(userId, status -> {
+            if (fields != null) {
+                return repository.findFieldsSliceByUserId(userId, completed, null, fields, pageable);
+            }
+            return repository.findSliceByUserIdAndCompleted(userId, completed, pageable, TodoResponse.class);
+        });
+    }
+
+    public Window<TodoResponse> findTodosByCompletionStatus(boolean completed, ScrollPosition position, Limit limit, Sort sort) {
+        return findTodosByCompletionStatus(completed, position, limit, sort, null);
+    }
+
+    public Window<TodoResponse> findTodosByCompletionStatus(boolean completed, ScrollPosition position, Limit limit, Sort sort, Set<TodoField> fields) {
+        Integer userId = getAuthenticatedUserId();
+        return readAfterFlush(userId, status ->
+                repository.findFieldsByUserId(userId, completed, null, fieldsOrAll(fields), position, limit, sort));
     }
 }
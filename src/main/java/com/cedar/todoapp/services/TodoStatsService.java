@@ -0,0 +1,155 @@
+package com.cedar.todoapp.services;
+
+import com.cedar.todoapp.dtos.TodoStatsResponse;
+import com.cedar.todoapp.models.Priority;
+import com.cedar.todoapp.models.Todo;
+import com.cedar.todoapp.models.TodoStats;
+import com.cedar.todoapp.models.TodoStatsDelta;
+import com.cedar.todoapp.models.UserTodoStats;
+import com.cedar.todoapp.repositories.TodoRepository;
+import com.cedar.todoapp.repositories.TodoStatsRepository;
+import com.cedar.todoapp.repositories.UserRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class TodoStatsService implements DisposableBean {
+
+    private final TodoStatsRepository repository;
+    private final TodoRepository todoRepository;
+    private final UserRepository userRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${todo.stats.reconcile-batch-size:500}")
+    private int reconcileBatchSize;
+
+    private ExecutorService reconciler;
+
+    @PostConstruct
+    void init() {
+        reconciler = Executors.newSingleThreadExecutor(new CustomizableThreadFactory("todo-stats-reconcile-"));
+    }
+
+    @Override
+    public void destroy() {
+        reconciler.shutdownNow();
+    }
+
+    public TodoStatsDelta contribution(Todo todo) {
+        return TodoStatsDelta.of(todo);
+    }
+
+    @Transactional
+    public void record(Integer userId, TodoStatsDelta delta) {
+        if (delta.isZero()) {
+            return;
+        }
+        if (repository.increment(userId, delta) == 0) {
+            rebuild(userId);
+        }
+    }
+
+    @Transactional
+    public void addContribution(Integer userId, Integer todoId) {
+        repository.incrementByTodo(userId, todoId, 1);
+    }
+
+    @Transactional
+    public void removeContribution(Integer userId, Integer todoId) {
+        repository.incrementByTodo(userId, todoId, -1);
+    }
+
+    @Transactional
+    public void recordCompletion(Integer userId, Integer todoId, boolean completed) {
+        repository.incrementCompleted(userId, completed ? 1 : -1);
+    }
+
+    // Overdue depends on the clock, so it is counted from idx_todo_user_due_date on read instead of kept in todo_stats.
+    // A missing row is counted but not written here; the user's next write or the nightly reconcile creates it.
+    @Transactional(readOnly = true)
+    public TodoStatsResponse getStats(Integer userId) {
+        TodoStatsDelta counts = repository.findById(userId)
+                .map(TodoStats::counts)
+                .orElseGet(() -> todoRepository.countStatsByUserId(userId));
+        LocalDateTime now = LocalDateTime.now();
+        long overdue = todoRepository.countByUserIdAndCompletedFalseAndDueDateLessThanEqual(userId, now);
+
+        Map<Priority, Long> byPriority = new EnumMap<>(Priority.class);
+        byPriority.put(Priority.LOW, counts.lowPriority());
+        byPriority.put(Priority.MEDIUM, counts.mediumPriority());
+        byPriority.put(Priority.HIGH, counts.highPriority());
+
+        return new TodoStatsResponse(
+                counts.total(),
+                counts.completed(),
+                counts.total() - counts.completed(),
+                overdue,
+                byPriority,
+                now
+        );
+    }
+
+    @Scheduled(cron = "${todo.stats.reconcile-cron:0 0 3 * * *}")
+    public void scheduleReconcile() {
+        reconciler.execute(this::reconcile);
+    }
+
+    public void reconcile() {
+        int reconciled = 0;
+        Integer afterId = 0;
+        List<Integer> userIds;
+        do {
+            userIds = userRepository.findIdsAfter(afterId, Limit.of(reconcileBatchSize));
+            if (userIds.isEmpty()) {
+                break;
+            }
+            List<Integer> batch = userIds;
+            transactionTemplate.executeWithoutResult(status -> rebuild(batch));
+            reconciled += userIds.size();
+            afterId = userIds.get(userIds.size() - 1);
+        } while (userIds.size() == reconcileBatchSize);
+        log.info("Todo stats reconciled for {} users", reconciled);
+    }
+
+    private void rebuild(List<Integer> userIds) {
+        Map<Integer, TodoStats> existing = repository.findForUpdateByUserIdIn(userIds).stream()
+                .collect(Collectors.toMap(TodoStats::getUserId, Function.identity()));
+        Map<Integer, TodoStatsDelta> counts = todoRepository.countStatsByUserIdIn(userIds).stream()
+                .collect(Collectors.toMap(UserTodoStats::userId, UserTodoStats::counts));
+
+        List<TodoStats> rebuilt = userIds.stream()
+                .map(userId -> {
+                    TodoStats stats = existing.getOrDefault(userId, new TodoStats(userId));
+                    stats.reset(counts.getOrDefault(userId, TodoStatsDelta.ZERO));
+                    return stats;
+                })
+                .toList();
+        repository.saveAll(rebuilt);
+    }
+
+    private TodoStats rebuild(Integer userId) {
+        TodoStats stats = repository.findForUpdateByUserId(userId).orElseGet(() -> new TodoStats(userId));
+        stats.reset(todoRepository.countStatsByUserId(userId));
+        return repository.save(stats);
+    }
+}
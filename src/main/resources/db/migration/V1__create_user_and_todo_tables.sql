@@ -0,0 +1,28 @@
+create table user (
+    id integer not null auto_increment,
+    created_at datetime(6),
+    updated_at datetime(6),
+    email varchar(100) not null,
+    full_name varchar(255) not null,
+    password varchar(255) not null,
+    primary key (id)
+) engine=InnoDB;
+
+create table todo (
+    completed bit,
+    id integer not null auto_increment,
+    user_id integer not null,
+    due_date datetime(6),
+    description varchar(255),
+    title varchar(255),
+    priority enum ('HIGH','LOW','MEDIUM'),
+    primary key (id)
+) engine=InnoDB;
+
+alter table user
+    add constraint UKob8kqyqqgmefl0aco34akdtpe unique (email);
+
+alter table todo
+    add constraint FK2ft3dfk1d3uw77pas3xqwymm7
+    foreign key (user_id)
+    references user (id);
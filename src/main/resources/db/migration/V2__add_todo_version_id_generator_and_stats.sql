@@ -0,0 +1,22 @@
+alter table todo
+    add column version bigint default 0 not null;
+
+create table id_generator (
+    next_val bigint,
+    sequence_name varchar(255) not null,
+    primary key (sequence_name)
+) engine=InnoDB;
+
+insert into id_generator (sequence_name, next_val)
+select 'todo', coalesce(max(id), 0) + 51 from todo;
+
+create table todo_stats (
+    user_id integer not null,
+    completed bigint not null,
+    high_priority_count bigint not null,
+    low_priority_count bigint not null,
+    medium_priority_count bigint not null,
+    overdue bigint not null,
+    total bigint not null,
+    primary key (user_id)
+) engine=InnoDB;
@@ -0,0 +1,9 @@
+create index idx_todo_user_id on todo (user_id, id);
+
+create index idx_todo_user_completed on todo (user_id, completed, id);
+
+create index idx_todo_user_due_date on todo (user_id, due_date);
+
+create index idx_todo_user_priority on todo (user_id, priority, id);
+
+create index idx_todo_open_due_date on todo (completed, due_date, user_id);
@@ -0,0 +1 @@
+alter table todo_stats drop column overdue;
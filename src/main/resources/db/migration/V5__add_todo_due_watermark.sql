@@ -0,0 +1,5 @@
+create table todo_due_watermark (
+    id integer not null,
+    fired_through datetime(6) not null,
+    primary key (id)
+) engine=InnoDB;
@@ -0,0 +1,51 @@
+package com.cedar.todoapp;
+
+import ch.vorburger.exec.ManagedProcessException;
+import ch.vorburger.mariadb4j.DB;
+import ch.vorburger.mariadb4j.DBConfigurationBuilder;
+import org.flywaydb.core.Flyway;
+import org.springframework.test.context.DynamicPropertyRegistry;
+
+public final class EmbeddedMariaDb {
+
+    private static DB database;
+
+    private EmbeddedMariaDb() {
+    }
+
+    public static void registerDataSource(DynamicPropertyRegistry registry, String schema) {
+        int port = start().getConfiguration().getPort();
+        registry.add("spring.datasource.url", () -> "jdbc:mysql://localhost:" + port + "/" + schema
+                + "?createDatabaseIfNotExist=true&useSSL=false&allowPublicKeyRetrieval=true");
+        registry.add("spring.datasource.username", () -> "root");
+        registry.add("spring.datasource.password", () -> "");
+    }
+
+    public static void registerReplicaDataSource(DynamicPropertyRegistry registry, String schema) {
+        int port = start().getConfiguration().getPort();
+        String url = "jdbc:mysql://localhost:" + port + "/" + schema
+                + "?createDatabaseIfNotExist=true&useSSL=false&allowPublicKeyRetrieval=true";
+        Flyway.configure().dataSource(url, "root", "").load().migrate();
+        registry.add("spring.datasource.replica.url", () -> url);
+        registry.add("spring.datasource.replica.username", () -> "root");
+        registry.add("spring.datasource.replica.password", () -> "");
+    }
+
+    private static synchronized DB start() {
+        if (database != null) {
+            return database;
+        }
+
+        DBConfigurationBuilder config = DBConfigurationBuilder.newBuilder().setPort(0);
+        if ("root".equals(System.getProperty("user.name"))) {
+            config.addArg("--user=root");
+        }
+        try {
+            database = DB.newEmbeddedDB(config.build());
+            database.start();
+            return database;
+        } catch (ManagedProcessException ex) {
+            throw new IllegalStateException("Embedded MariaDB failed to start", ex);
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.cedar.todoapp.configs;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLTransientConnectionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConnectionGateConfigurationTest {
+
+    private HikariDataSource hikari;
+
+    @BeforeEach
+    void setUp() {
+        hikari = new HikariDataSource();
+        hikari.setMaximumPoolSize(1);
+        hikari.setConnectionTimeout(30000);
+    }
+
+    @AfterEach
+    void tearDown() {
+        hikari.close();
+    }
+
+    @Test
+    void testGate_TimesOutBeforeHikariBudget() throws Exception {
+        ConnectionGateDataSource gate = (ConnectionGateDataSource) ConnectionGateConfiguration
+                .connectionGatePostProcessor(250)
+                .postProcessAfterInitialization(hikari, "dataSource");
+        ClassLoader classLoader = getClass().getClassLoader();
+        Connection connection = (Connection) Proxy.newProxyInstance(
+                classLoader, new Class<?>[]{Connection.class}, (proxy, method, args) -> null);
+        gate.setTargetDataSource((DataSource) Proxy.newProxyInstance(
+                classLoader, new Class<?>[]{DataSource.class}, (proxy, method, args) -> connection));
+
+        try (Connection held = gate.getConnection()) {
+            long start = System.nanoTime();
+            SQLTransientConnectionException ex = assertThrows(SQLTransientConnectionException.class, gate::getConnection);
+            long waitedMillis = (System.nanoTime() - start) / 1_000_000;
+
+            assertTrue(ex.getMessage().contains("250ms"));
+            assertTrue(waitedMillis < hikari.getConnectionTimeout());
+        }
+        assertEquals(1, gate.getAvailablePermits());
+        assertEquals(2, gate.getAcquiredCount());
+    }
+}
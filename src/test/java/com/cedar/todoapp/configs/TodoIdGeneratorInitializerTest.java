@@ -0,0 +1,72 @@
+package com.cedar.todoapp.configs;
+
+import com.cedar.todoapp.EmbeddedMariaDb;
+import com.cedar.todoapp.models.Priority;
+import com.cedar.todoapp.models.Todo;
+import com.cedar.todoapp.models.User;
+import com.cedar.todoapp.repositories.TodoRepository;
+import com.cedar.todoapp.repositories.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import static com.cedar.todoapp.models.Todo.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = "spring.jpa.show-sql=false")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(TodoIdGeneratorInitializer.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class TodoIdGeneratorInitializerTest {
+
+    private static final int MAX_ID = 500;
+
+    @Autowired
+    private TodoIdGeneratorInitializer initializer;
+
+    @Autowired
+    private TodoRepository todoRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        EmbeddedMariaDb.registerDataSource(registry, "todo_ids");
+    }
+
+    @Test
+    void testNextValWithinOneAllocationOfMaxId_IsMovedPastIt() {
+        User user = userRepository.save(User.builder()
+                .fullName("Id User")
+                .email("ids@example.com")
+                .password("secret")
+                .build());
+        jdbcTemplate.update("insert into todo (id, user_id, title, priority, completed) values (?, ?, ?, 'LOW', false)",
+                MAX_ID, user.getId(), "Imported");
+        jdbcTemplate.update("update " + ID_GENERATOR_TABLE + " set next_val = ? where sequence_name = ?",
+                MAX_ID + 10, ID_GENERATOR_NAME);
+
+        initializer.afterSingletonsInstantiated();
+
+        assertEquals(MAX_ID + ID_ALLOCATION_SIZE + 1, jdbcTemplate.queryForObject(
+                "select next_val from " + ID_GENERATOR_TABLE + " where sequence_name = ?", Long.class, ID_GENERATOR_NAME));
+        Todo todo = todoRepository.save(Todo.builder()
+                .title("Created")
+                .priority(Priority.LOW)
+                .completed(false)
+                .user(user)
+                .build());
+        assertTrue(todo.getId() > MAX_ID, "generated id " + todo.getId() + " collides with imported ids");
+    }
+}
@@ -0,0 +1,96 @@
+package com.cedar.todoapp.mappers;
+
+import com.cedar.todoapp.exceptions.InvalidCursorException;
+import com.cedar.todoapp.models.Priority;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CursorMapperTest {
+
+    private CursorMapper cursorMapper;
+
+    @BeforeEach
+    void setUp() {
+        cursorMapper = new CursorMapper();
+    }
+
+    @Test
+    void testCursorRoundTrip() {
+        Map<String, Object> keys = new LinkedHashMap<>();
+        keys.put("priority", Priority.HIGH);
+        keys.put("id", 42);
+
+        String cursor = cursorMapper.toCursor(ScrollPosition.forward(keys));
+        ScrollPosition position = cursorMapper.toScrollPosition(cursor, "priority");
+
+        assertInstanceOf(KeysetScrollPosition.class, position);
+        assertEquals(keys, ((KeysetScrollPosition) position).getKeys());
+    }
+
+    @Test
+    void testCursorRoundTripWithSpecialCharacters() {
+        Map<String, Object> keys = new LinkedHashMap<>();
+        keys.put("title", "a=b&c d");
+        keys.put("id", 7);
+
+        String cursor = cursorMapper.toCursor(ScrollPosition.forward(keys));
+
+        assertEquals(keys, ((KeysetScrollPosition) cursorMapper.toScrollPosition(cursor, "title")).getKeys());
+    }
+
+    @Test
+    void testCursorRoundTripWithNullKey() {
+        Map<String, Object> keys = new LinkedHashMap<>();
+        keys.put("completed", null);
+        keys.put("id", 7);
+        Map<String, Object> title = new LinkedHashMap<>();
+        title.put("title", "null");
+        title.put("id", 8);
+
+        String cursor = cursorMapper.toCursor(ScrollPosition.forward(keys));
+
+        assertEquals(keys, ((KeysetScrollPosition) cursorMapper.toScrollPosition(cursor, "completed")).getKeys());
+        assertEquals(title, ((KeysetScrollPosition) cursorMapper.toScrollPosition(
+                cursorMapper.toCursor(ScrollPosition.forward(title)), "title")).getKeys());
+    }
+
+    @Test
+    void testEmptyCursorStartsFromBeginning() {
+        ScrollPosition position = cursorMapper.toScrollPosition("", "id");
+
+        assertTrue(position.isInitial());
+    }
+
+    @Test
+    void testUnsupportedSortProperty() {
+        assertThrows(InvalidCursorException.class, () -> cursorMapper.toScrollPosition("", "dueDate"));
+    }
+
+    @Test
+    void testCursorForDifferentSort() {
+        String cursor = cursorMapper.toCursor(ScrollPosition.forward(Map.of("id", 1)));
+
+        assertThrows(InvalidCursorException.class, () -> cursorMapper.toScrollPosition(cursor, "title"));
+    }
+
+    private String encode(String keys) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(keys.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void testMalformedCursor() {
+        assertThrows(InvalidCursorException.class, () -> cursorMapper.toScrollPosition("%%%", "id"));
+        assertThrows(InvalidCursorException.class, () -> cursorMapper.toScrollPosition("aWQ9eA", "id"));
+        assertThrows(InvalidCursorException.class, () -> cursorMapper.toScrollPosition(encode("completed=null&id=1"), "completed"));
+        assertThrows(InvalidCursorException.class, () -> cursorMapper.toScrollPosition(encode("id"), "id"));
+    }
+}
@@ -0,0 +1,46 @@
+package com.cedar.todoapp.mappers;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ETagMapperTest {
+
+    private final ETagMapper mapper = new ETagMapper();
+
+    @Test
+    void testTodoTag_RoundTripsVersionAndDependsOnRepresentation() {
+        String etag = mapper.toTodoTag(12, 3L, "[TITLE];application/json");
+
+        assertTrue(etag.startsWith("\"12.3:"));
+        assertEquals(etag, mapper.toTodoTag(12, 3L, "[TITLE];application/json"));
+        assertNotEquals(etag, mapper.toTodoTag(12, 3L, "null;application/json"));
+        assertNotEquals(etag, mapper.toTodoTag(12, 3L, "[TITLE];application/cbor"));
+        assertEquals(Set.of(3L), mapper.parseTodoVersions(etag, 12, true));
+    }
+
+    @Test
+    void testParseTodoVersions_IgnoresOtherTodosAndWeakTagsWhenStrong() {
+        String header = "W/\"12.2:abc.1.5\", \"13.7:abc.1.5\", \"12.4:abc.1.1\"";
+
+        assertEquals(Set.of(4L), mapper.parseTodoVersions(header, 12, true));
+        assertEquals(Set.of(2L, 4L), mapper.parseTodoVersions(header, 12, false));
+        assertNull(mapper.parseTodoVersions("*", 12, true));
+        assertNull(mapper.parseTodoVersions(null, 12, true));
+    }
+
+    @Test
+    void testListTag_DependsOnQueryAndStamp() {
+        String etag = mapper.toListTag("/api/v1/todos?page=0", "abc.1.5");
+
+        assertTrue(etag.startsWith("W/\""));
+        assertTrue(mapper.matches(etag, etag));
+        assertTrue(mapper.matches(etag.substring(2) + ", \"other\"", etag));
+        assertTrue(mapper.matches("*", etag));
+        assertFalse(mapper.matches(mapper.toListTag("/api/v1/todos?page=1", "abc.1.5"), etag));
+        assertFalse(mapper.matches(mapper.toListTag("/api/v1/todos?page=0", "abc.1.6"), etag));
+        assertFalse(mapper.matches(null, etag));
+    }
+}
@@ -0,0 +1,41 @@
+package com.cedar.todoapp.mappers;
+
+import com.cedar.todoapp.exceptions.InvalidFieldsException;
+import com.cedar.todoapp.models.TodoField;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TodoFieldsMapperTest {
+
+    private TodoFieldsMapper fieldsMapper;
+
+    @BeforeEach
+    void setUp() {
+        fieldsMapper = new TodoFieldsMapper();
+    }
+
+    @Test
+    void testToFields_ParsesPropertyNames() {
+        Set<TodoField> fields = fieldsMapper.toFields("id, title,dueDate,completed");
+
+        assertEquals(EnumSet.of(TodoField.ID, TodoField.TITLE, TodoField.DUE_DATE, TodoField.COMPLETED), fields);
+        assertEquals(Set.of("id", "title", "dueDate", "completed"), fieldsMapper.toProperties(fields));
+    }
+
+    @Test
+    void testToFields_ReturnsNullWhenAbsent() {
+        assertNull(fieldsMapper.toFields(null));
+        assertNull(fieldsMapper.toFields(" "));
+    }
+
+    @Test
+    void testToFields_RejectsUnknownOrEmptySelections() {
+        assertThrows(InvalidFieldsException.class, () -> fieldsMapper.toFields("title,user"));
+        assertThrows(InvalidFieldsException.class, () -> fieldsMapper.toFields(","));
+    }
+}
@@ -0,0 +1,224 @@
+package com.cedar.todoapp.repositories;
+
+import com.cedar.todoapp.EmbeddedMariaDb;
+import com.cedar.todoapp.dtos.TodoResponse;
+import com.cedar.todoapp.dtos.VersionedTodoResponse;
+import com.cedar.todoapp.mappers.CursorMapper;
+import com.cedar.todoapp.models.Priority;
+import com.cedar.todoapp.models.TodoField;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = {
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.cedar.todoapp.repositories.TodoFieldsRepositoryTest$RecordingStatementInspector"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class TodoFieldsRepositoryTest {
+
+    private static final int USER_ID = 1;
+    private static final int OTHER_USER_ID = 2;
+    private static final int TODOS = 45;
+    private static final int NULL_USER_ID = 3;
+    private static final int NULL_TODOS = 9;
+    private static final Set<TodoField> TITLE_ONLY = EnumSet.of(TodoField.TITLE);
+
+    private final CursorMapper cursorMapper = new CursorMapper();
+
+    @Autowired
+    private TodoRepository todoRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        EmbeddedMariaDb.registerDataSource(registry, "todo_fields");
+    }
+
+    @BeforeAll
+    void seed() {
+        jdbcTemplate.update("insert into user (id, full_name, email, password) values (?, ?, ?, ?), (?, ?, ?, ?)",
+                USER_ID, "User", "user@example.com", "secret", OTHER_USER_ID, "Other", "other@example.com", "secret");
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = 1; i <= TODOS * 2; i++) {
+            rows.add(new Object[]{i, i <= TODOS ? USER_ID : OTHER_USER_ID, "Todo " + i, "Description " + i,
+                    LocalDateTime.of(2030, 1, 1, 0, 0).plusHours(i), Priority.values()[i % 3].name(), i % 4 == 0});
+        }
+        jdbcTemplate.batchUpdate("insert into todo (id, user_id, title, description, due_date, priority, completed) values (?, ?, ?, ?, ?, ?, ?)", rows);
+
+        // Null priorities and completion flags sit between non-null rows so that page boundaries fall on them.
+        jdbcTemplate.update("insert into user (id, full_name, email, password) values (?, ?, ?, ?)",
+                NULL_USER_ID, "Nulls", "nulls@example.com", "secret");
+        List<Object[]> nullRows = new ArrayList<>();
+        for (int i = 1; i <= NULL_TODOS; i++) {
+            nullRows.add(new Object[]{TODOS * 2 + i, NULL_USER_ID, "Nullable " + i,
+                    i % 3 == 0 ? null : Priority.values()[i % 2].name(), i % 3 == 1 ? null : i % 2 == 0});
+        }
+        jdbcTemplate.batchUpdate("insert into todo (id, user_id, title, priority, completed) values (?, ?, ?, ?, ?)", nullRows);
+    }
+
+    @BeforeEach
+    void clearStatements() {
+        RecordingStatementInspector.statements.clear();
+    }
+
+    private String selectList() {
+        String sql = RecordingStatementInspector.statements.get(0);
+        return sql.substring(0, sql.indexOf(" from "));
+    }
+
+    @Test
+    void testFindFieldsByUserId_SelectsOnlyRequestedColumns() {
+        Page<TodoResponse> page = todoRepository.findFieldsByUserId(USER_ID, null, null, TITLE_ONLY, PageRequest.of(1, 10, Sort.by("id")));
+
+        assertTrue(selectList().contains("title"));
+        assertFalse(selectList().contains("description"));
+        assertFalse(selectList().contains("due_date"));
+        assertEquals(TODOS, page.getTotalElements());
+        assertEquals(11, page.getContent().get(0).id());
+        assertEquals("Todo 11", page.getContent().get(0).title());
+        assertNull(page.getContent().get(0).description());
+    }
+
+    @Test
+    void testFindFieldsSliceByUserId_SkipsCountQuery() {
+        Slice<TodoResponse> middle = todoRepository.findFieldsSliceByUserId(USER_ID, null, null, TITLE_ONLY, PageRequest.of(1, 10, Sort.by("id")));
+        Slice<TodoResponse> last = todoRepository.findFieldsSliceByUserId(USER_ID, null, null, TITLE_ONLY, PageRequest.of(4, 10, Sort.by("id")));
+
+        assertEquals(2, RecordingStatementInspector.statements.size());
+        assertTrue(RecordingStatementInspector.statements.stream().noneMatch(sql -> sql.contains("count(")));
+        assertEquals(10, middle.getNumberOfElements());
+        assertEquals(11, middle.getContent().get(0).id());
+        assertTrue(middle.hasNext());
+        assertEquals(5, last.getNumberOfElements());
+        assertFalse(last.hasNext());
+    }
+
+    @Test
+    void testFindSliceByUserIdAndCompleted_SkipsCountQuery() {
+        Slice<TodoResponse> slice = todoRepository.findSliceByUserIdAndCompleted(USER_ID, true, PageRequest.of(0, 5, Sort.by("id")), TodoResponse.class);
+
+        assertEquals(1, RecordingStatementInspector.statements.size());
+        assertFalse(RecordingStatementInspector.statements.get(0).contains("count("));
+        assertEquals(List.of(4, 8, 12, 16, 20), slice.getContent().stream().map(TodoResponse::id).toList());
+        assertTrue(slice.hasNext());
+    }
+
+    @Test
+    void testFindFieldsByUserId_FiltersByCompletionAndIds() {
+        Page<TodoResponse> page = todoRepository.findFieldsByUserId(USER_ID, true, List.of(4, 5, 8, 50), TITLE_ONLY, PageRequest.of(0, 10, Sort.by("id")));
+
+        assertEquals(List.of(4, 8), page.getContent().stream().map(TodoResponse::id).toList());
+    }
+
+    @Test
+    void testFindFieldsByUserId_KeysetMatchesOffsetOrder() {
+        Sort sort = Sort.by(Sort.Direction.DESC, "priority");
+
+        List<Integer> actual = scroll(USER_ID, sort, 7);
+
+        assertEquals(TODOS, actual.size());
+        assertEquals(offsetOrder(USER_ID, sort), actual);
+    }
+
+    @Test
+    void testFindFieldsByUserId_KeysetCrossesNullKeys() {
+        for (Sort sort : List.of(
+                Sort.by("priority"),
+                Sort.by(Sort.Direction.DESC, "priority"),
+                Sort.by("completed"),
+                Sort.by(Sort.Direction.DESC, "completed"))) {
+            List<Integer> actual = scroll(NULL_USER_ID, sort, 2);
+
+            assertEquals(NULL_TODOS, actual.size(), sort::toString);
+            assertEquals(offsetOrder(NULL_USER_ID, sort), actual, sort::toString);
+        }
+    }
+
+    private List<Integer> scroll(int userId, Sort sort, int size) {
+        List<Integer> ids = new ArrayList<>();
+        Window<TodoResponse> window = todoRepository.findFieldsByUserId(userId, null, null, TITLE_ONLY, ScrollPosition.keyset(), Limit.of(size), sort);
+        window.forEach(todo -> ids.add(todo.id()));
+        while (window.hasNext()) {
+            ScrollPosition position = cursorMapper.toScrollPosition(
+                    cursorMapper.toCursor(window.positionAt(window.size() - 1)), sort.iterator().next().getProperty());
+            window = todoRepository.findFieldsByUserId(userId, null, null, TITLE_ONLY, position, Limit.of(size), sort);
+            window.forEach(todo -> ids.add(todo.id()));
+        }
+        return ids;
+    }
+
+    private List<Integer> offsetOrder(int userId, Sort sort) {
+        return todoRepository.findFieldsByUserId(userId, null, null, TITLE_ONLY, PageRequest.of(0, TODOS, sort.and(Sort.by("id"))))
+                .map(TodoResponse::id)
+                .getContent();
+    }
+
+    @Test
+    void testSearchFieldsByUserId_MatchesSubstringsForTheUser() {
+        Page<TodoResponse> page = todoRepository.searchFieldsByUserId(USER_ID, "TODO 1", TITLE_ONLY, PageRequest.of(0, 5, Sort.by("id")));
+
+        assertEquals(11, page.getTotalElements());
+        assertEquals(List.of(1, 10, 11, 12, 13), page.getContent().stream().map(TodoResponse::id).toList());
+
+        Slice<TodoResponse> slice = todoRepository.searchFieldsSliceByUserId(USER_ID, "iption 4", TITLE_ONLY, PageRequest.of(0, 10, Sort.by("id")));
+        assertEquals(List.of(4, 40, 41, 42, 43, 44, 45), slice.getContent().stream().map(TodoResponse::id).toList());
+        assertFalse(slice.hasNext());
+
+        assertEquals(TODOS, todoRepository.searchFieldsByUserId(USER_ID, "", TITLE_ONLY, PageRequest.of(0, 10)).getTotalElements());
+        assertEquals(0, todoRepository.searchFieldsByUserId(USER_ID, "%", TITLE_ONLY, PageRequest.of(0, 10)).getTotalElements());
+        assertEquals(0, todoRepository.searchFieldsByUserId(USER_ID, "Todo_1", TITLE_ONLY, PageRequest.of(0, 10)).getTotalElements());
+    }
+
+    @Test
+    void testFindFieldsByIdAndUserId_ReturnsVersion() {
+        VersionedTodoResponse todo = todoRepository.findFieldsByIdAndUserId(3, USER_ID, EnumSet.of(TodoField.COMPLETED)).orElseThrow();
+
+        assertEquals(0L, todo.version());
+        assertEquals(3, todo.todo().id());
+        assertNull(todo.todo().title());
+        assertFalse(selectList().contains("title"));
+        assertTrue(todoRepository.findFieldsByIdAndUserId(3, OTHER_USER_ID, TITLE_ONLY).isEmpty());
+    }
+
+    public static class RecordingStatementInspector implements StatementInspector {
+
+        static final List<String> statements = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            statements.add(sql);
+            return sql;
+        }
+    }
+}
@@ -0,0 +1,179 @@
+package com.cedar.todoapp.repositories;
+
+import com.cedar.todoapp.EmbeddedMariaDb;
+import com.cedar.todoapp.dtos.TodoResponse;
+import com.cedar.todoapp.models.Priority;
+import com.cedar.todoapp.models.TodoField;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = {
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.cedar.todoapp.repositories.TodoRepositoryIndexTest$RecordingStatementInspector"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class TodoRepositoryIndexTest {
+
+    private static final int USERS = 20;
+    private static final int TODOS_PER_USER = 500;
+    private static final int USER_ID = USERS / 2;
+    private static final LocalDateTime START = LocalDateTime.of(2030, 1, 1, 0, 0);
+    private static final Set<TodoField> TITLE_ONLY = EnumSet.of(TodoField.TITLE);
+
+    @Autowired
+    private TodoRepository todoRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        EmbeddedMariaDb.registerDataSource(registry, "todo_index");
+    }
+
+    @BeforeAll
+    void seed() {
+        for (int u = 1; u <= USERS; u++) {
+            jdbcTemplate.update("insert into user (id, full_name, email, password) values (?, ?, ?, ?)",
+                    u, "User " + u, "user" + u + "@example.com", "secret");
+        }
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = 1; i <= USERS * TODOS_PER_USER; i++) {
+            rows.add(new Object[]{i, (i % USERS) + 1, "Todo " + i, START.plusHours(i % 997),
+                    Priority.values()[i % 3].name(), i % 3 == 0});
+        }
+        jdbcTemplate.batchUpdate("insert into todo (id, user_id, title, due_date, priority, completed) values (?, ?, ?, ?, ?, ?)", rows);
+        jdbcTemplate.execute("analyze table todo");
+    }
+
+    @BeforeEach
+    void clearStatements() {
+        RecordingStatementInspector.statements.clear();
+    }
+
+    private Map<String, Object> explain(Object... args) {
+        String sql = RecordingStatementInspector.statements.get(0);
+        return jdbcTemplate.queryForList("explain " + sql, args).get(0);
+    }
+
+    private void assertUsesIndex(String index, Object... args) {
+        Map<String, Object> plan = explain(args);
+
+        assertEquals(index, plan.get("key"), () -> "Unexpected plan " + plan);
+        assertFalse(String.valueOf(plan.get("Extra")).contains("filesort"), () -> "Unexpected filesort " + plan);
+    }
+
+    @Test
+    void testFindByUserId_SortedById_UsesUserIdIndex() {
+        todoRepository.findByUserId(USER_ID, PageRequest.of(2, 20, Sort.by("id")), TodoResponse.class);
+
+        assertUsesIndex("idx_todo_user_id", USER_ID, 40, 20);
+    }
+
+    @Test
+    void testFindByUserIdAndCompleted_UsesUserCompletedIndex() {
+        todoRepository.findByUserIdAndCompleted(USER_ID, false, PageRequest.of(0, 20, Sort.by("id")), TodoResponse.class);
+
+        assertUsesIndex("idx_todo_user_completed", USER_ID, false, 20);
+    }
+
+    @Test
+    void testFindByUserIdAndCompleted_Keyset_UsesUserCompletedIndex() {
+        todoRepository.findFieldsByUserId(USER_ID, true, null, TITLE_ONLY, ScrollPosition.forward(Map.of("id", 100)), Limit.of(20), Sort.by("id"));
+
+        assertUsesIndex("idx_todo_user_completed", USER_ID, true, 100, 20);
+    }
+
+    @Test
+    void testFindByUserId_SortedByDueDate_UsesUserDueDateIndex() {
+        todoRepository.findByUserId(USER_ID, PageRequest.of(0, 20, Sort.by("dueDate")), TodoResponse.class);
+
+        assertUsesIndex("idx_todo_user_due_date", USER_ID, 20);
+    }
+
+    @Test
+    void testFindByUserId_SortedByPriority_UsesUserPriorityIndex() {
+        todoRepository.findByUserId(USER_ID, PageRequest.of(0, 20, Sort.by(Sort.Direction.DESC, "priority")), TodoResponse.class);
+
+        assertUsesIndex("idx_todo_user_priority", USER_ID, 20);
+    }
+
+    @Test
+    void testFindByUserId_PriorityKeyset_UsesUserPriorityIndex() {
+        Map<String, Object> keys = new LinkedHashMap<>();
+        keys.put("priority", Priority.LOW);
+        keys.put("id", 100);
+        todoRepository.findFieldsByUserId(USER_ID, null, null, TITLE_ONLY, ScrollPosition.forward(keys), Limit.of(20), Sort.by("priority", "id"));
+
+        assertUsesIndex("idx_todo_user_priority", USER_ID, Priority.LOW.name(), Priority.LOW.name(), 100, 20);
+    }
+
+    @Test
+    void testFindOverdue_UsesUserDueDateIndex() {
+        todoRepository.findByUserIdAndCompletedFalseAndDueDateLessThanEqual(USER_ID, START.plusHours(100),
+                PageRequest.of(0, 20, Sort.by("dueDate", "id")), TodoResponse.class);
+
+        assertUsesIndex("idx_todo_user_due_date", USER_ID, START.plusHours(100), 20);
+    }
+
+    @Test
+    void testFindUpcoming_UsesUserDueDateIndex() {
+        todoRepository.findByUserIdAndCompletedFalseAndDueDateAfterAndDueDateLessThanEqual(USER_ID, START.plusHours(100), START.plusHours(300),
+                PageRequest.of(0, 20, Sort.by("dueDate", "id")), TodoResponse.class);
+
+        assertUsesIndex("idx_todo_user_due_date", USER_ID, START.plusHours(100), START.plusHours(300), 20);
+    }
+
+    @Test
+    void testFindOpenDueBetween_UsesOpenDueDateIndex() {
+        todoRepository.findOpenDueBetween(START.plusHours(10), START.plusHours(11));
+
+        assertUsesIndex("idx_todo_open_due_date", START.plusHours(10), START.plusHours(11));
+    }
+
+    @Test
+    void testCountOverdue_UsesUserDueDateIndex() {
+        todoRepository.countByUserIdAndCompletedFalseAndDueDateLessThanEqual(USER_ID, START.plusHours(100));
+
+        assertUsesIndex("idx_todo_user_due_date", USER_ID, START.plusHours(100));
+    }
+
+    public static class RecordingStatementInspector implements StatementInspector {
+
+        static final List<String> statements = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            statements.add(sql);
+            return sql;
+        }
+    }
+}
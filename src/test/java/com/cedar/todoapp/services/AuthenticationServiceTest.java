@@ -2,7 +2,6 @@ package com.cedar.todoapp.services;
 
 import com.cedar.todoapp.dtos.LoginUserRequest;
 import com.cedar.todoapp.dtos.RegisterUserRequest;
-import com.cedar.todoapp.exceptions.UserNotFoundException;
 import com.cedar.todoapp.exceptions.UsernameAlreadyExistsException;
 import com.cedar.todoapp.models.User;
 import com.cedar.todoapp.repositories.UserRepository;
@@ -12,6 +11,7 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
@@ -76,26 +76,22 @@ class AuthenticationServiceTest {
 
     @Test
     void testAuthenticate_ShouldReturnUser_WhenAuthenticationIsSuccessful() {
-        when(userRepository.findByEmail(loginRequest.email())).thenReturn(Optional.of(user));
-
-        UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(loginRequest.email(), loginRequest.password());
-        when(authenticationManager.authenticate(authToken)).thenReturn(authToken);
+        UsernamePasswordAuthenticationToken authenticated = UsernamePasswordAuthenticationToken.authenticated(user, null, user.getAuthorities());
+        when(authenticationManager.authenticate(any(UsernamePasswordAuthenticationToken.class))).thenReturn(authenticated);
 
         User authenticatedUser = authenticationService.authenticate(loginRequest);
 
         assertEquals(user, authenticatedUser);
         verify(authenticationManager).authenticate(any(UsernamePasswordAuthenticationToken.class));
-        verify(userRepository).findByEmail(loginRequest.email());
+        verify(userRepository, never()).findByEmail(anyString());
     }
 
     @Test
-    void testAuthenticate_ShouldThrowUserNotFoundException_WhenUserDoesNotExist() {
-        when(userRepository.findByEmail(loginRequest.email())).thenReturn(Optional.empty());
-        UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(loginRequest.email(), loginRequest.password());
-        when(authenticationManager.authenticate(authToken)).thenReturn(authToken);
+    void testAuthenticate_ShouldPropagateBadCredentialsException_WhenPasswordIsWrong() {
+        when(authenticationManager.authenticate(any(UsernamePasswordAuthenticationToken.class)))
+                .thenThrow(new BadCredentialsException("Bad credentials"));
 
-        assertThrows(UserNotFoundException.class, () -> authenticationService.authenticate(loginRequest));
-        verify(authenticationManager).authenticate(any(UsernamePasswordAuthenticationToken.class));
-        verify(userRepository).findByEmail(loginRequest.email());
+        assertThrows(BadCredentialsException.class, () -> authenticationService.authenticate(loginRequest));
+        verify(userRepository, never()).findByEmail(anyString());
     }
 }
@@ -0,0 +1,118 @@
+package com.cedar.todoapp.services;
+
+import com.cedar.todoapp.dtos.RegisterUserRequest;
+import com.cedar.todoapp.models.User;
+import com.cedar.todoapp.repositories.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@SpringJUnitConfig
+class CachedUserDetailsServiceTest {
+
+    private static final String EMAIL = "john.doe@example.com";
+
+    @Configuration
+    @EnableCaching(proxyTargetClass = true)
+    static class CacheConfiguration {
+
+        @Bean
+        CacheManager cacheManager() {
+            return new CaffeineCacheManager(CachedUserDetailsService.USERS_CACHE);
+        }
+
+        @Bean
+        UserRepository userRepository() {
+            return mock(UserRepository.class);
+        }
+
+        @Bean
+        CachedUserDetailsService userDetailsService(UserRepository userRepository) {
+            return new CachedUserDetailsService(userRepository);
+        }
+
+        @Bean
+        AuthenticationService authenticationService(UserRepository userRepository) {
+            return new AuthenticationService(userRepository, mock(PasswordEncoder.class), mock(AuthenticationManager.class));
+        }
+    }
+
+    @Autowired
+    private CachedUserDetailsService userDetailsService;
+
+    @Autowired
+    private AuthenticationService authenticationService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    private Cache cache;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        cache = cacheManager.getCache(CachedUserDetailsService.USERS_CACHE);
+        cache.clear();
+        reset(userRepository);
+
+        user = User.builder()
+                .id(1)
+                .fullName("John Doe")
+                .email(EMAIL)
+                .password("encodedPassword")
+                .build();
+        when(userRepository.findByEmail(EMAIL)).thenReturn(Optional.of(user));
+        when(userRepository.save(any(User.class))).thenAnswer(invocation -> invocation.getArgument(0));
+    }
+
+    @Test
+    void testLoadUserByUsername_RepeatedLookupHitsCache() {
+        User first = userDetailsService.loadUserByUsername(EMAIL);
+        User second = userDetailsService.loadUserByUsername(EMAIL);
+
+        assertEquals(first, second);
+        verify(userRepository, times(1)).findByEmail(EMAIL);
+    }
+
+    @Test
+    void testUpdatePassword_EvictsCachedUser() {
+        userDetailsService.loadUserByUsername(EMAIL);
+
+        userDetailsService.updatePassword(user, "upgradedPassword");
+        assertNull(cache.get(EMAIL));
+
+        userDetailsService.loadUserByUsername(EMAIL);
+        // one lookup to populate, one inside updatePassword, one after eviction
+        verify(userRepository, times(3)).findByEmail(EMAIL);
+    }
+
+    @Test
+    void testRegister_EvictsCachedEntryForEmail() {
+        String email = "jane.doe@example.com";
+        cache.put(email, user);
+        when(userRepository.findByEmail(email)).thenReturn(Optional.empty());
+
+        authenticationService.register(new RegisterUserRequest(email, "password123", "Jane Doe"));
+
+        assertNull(cache.get(email));
+    }
+}
@@ -0,0 +1,94 @@
+package com.cedar.todoapp.services;
+
+import com.cedar.todoapp.models.User;
+import io.jsonwebtoken.Claims;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JwtServiceTest {
+
+    private static final String SECRET_KEY = "2ee657d85e2a97a2b8f456c6d61be4d469fff7b6be68c0d509a8cfe4c7947819";
+
+    private JwtService jwtService;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        jwtService = new JwtService();
+        ReflectionTestUtils.setField(jwtService, "secretKey", SECRET_KEY);
+        ReflectionTestUtils.setField(jwtService, "jwtExpiration", 3600000L);
+        ReflectionTestUtils.setField(jwtService, "cacheMaxSize", 100L);
+        jwtService.init();
+
+        user = User.builder()
+                .id(1)
+                .email("user@example.com")
+                .build();
+    }
+
+    @Test
+    void testValidateToken_ReturnsVerifiedClaims() {
+        String token = jwtService.generateToken(user);
+
+        Optional<Claims> claims = jwtService.validateToken(token);
+
+        assertTrue(claims.isPresent());
+        assertEquals(user.getEmail(), claims.get().getSubject());
+        assertTrue(jwtService.isTokenValid(claims.get(), user));
+    }
+
+    @Test
+    void testGenerateToken_EmbedsUserId() {
+        String token = jwtService.generateToken(user);
+
+        Claims claims = jwtService.validateToken(token).orElseThrow();
+
+        assertEquals(user.getId(), jwtService.extractUserId(claims));
+    }
+
+    @Test
+    void testValidateToken_ReusesCachedClaims() {
+        String token = jwtService.generateToken(user);
+
+        Claims first = jwtService.validateToken(token).orElseThrow();
+        Claims second = jwtService.validateToken(token).orElseThrow();
+
+        assertSame(first, second);
+        assertEquals(user.getEmail(), jwtService.extractUsername(token));
+    }
+
+    @Test
+    void testValidateToken_WithCacheDisabled() {
+        ReflectionTestUtils.setField(jwtService, "cacheMaxSize", 0L);
+        jwtService.init();
+        String token = jwtService.generateToken(user);
+
+        Claims first = jwtService.validateToken(token).orElseThrow();
+        Claims second = jwtService.validateToken(token).orElseThrow();
+
+        assertNotSame(first, second);
+        assertEquals(first.getSubject(), second.getSubject());
+    }
+
+    @Test
+    void testValidateToken_RejectsTamperedToken() {
+        String token = jwtService.generateToken(user);
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("AA") ? "BB" : "AA");
+
+        assertTrue(jwtService.validateToken(tampered).isEmpty());
+        assertFalse(jwtService.preValidateToken("not-a-token"));
+    }
+
+    @Test
+    void testValidateToken_RejectsExpiredToken() {
+        ReflectionTestUtils.setField(jwtService, "jwtExpiration", -1000L);
+        String token = jwtService.generateToken(user);
+
+        assertTrue(jwtService.validateToken(token).isEmpty());
+    }
+}
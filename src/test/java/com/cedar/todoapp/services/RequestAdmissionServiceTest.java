@@ -0,0 +1,178 @@
+package com.cedar.todoapp.services;
+
+import com.cedar.todoapp.exceptions.ServiceOverloadedException;
+import com.cedar.todoapp.models.RequestClass;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RequestAdmissionServiceTest {
+
+    private MeterRegistry meterRegistry;
+    private RequestAdmissionService admissionService;
+
+    @BeforeEach
+    void setUp() {
+        MockEnvironment environment = new MockEnvironment()
+                .withProperty("todo.admission.pools.crud.max-concurrent", "2")
+                .withProperty("todo.admission.pools.crud.max-wait-ms", "0")
+                .withProperty("todo.admission.pools.list.max-concurrent", "1")
+                .withProperty("todo.admission.pools.list.max-wait-ms", "2000")
+                .withProperty("todo.admission.pools.list.shed-on-slow-database", "true")
+                .withProperty("todo.admission.pools.bulk.max-concurrent", "1")
+                .withProperty("todo.admission.pools.bulk.max-wait-ms", "0")
+                .withProperty("todo.admission.pools.bulk.shed-on-slow-database", "true");
+        meterRegistry = new SimpleMeterRegistry();
+        admissionService = new RequestAdmissionService(environment, meterRegistry);
+        ReflectionTestUtils.setField(admissionService, "enabled", true);
+        ReflectionTestUtils.setField(admissionService, "retryAfterSeconds", 3L);
+        ReflectionTestUtils.setField(admissionService, "connectionAcquireThresholdMs", 250.0);
+        ReflectionTestUtils.setField(admissionService, "sampleIntervalMs", 1000L);
+        admissionService.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        admissionService.destroy();
+    }
+
+    private double admitted(RequestClass requestClass) {
+        return meterRegistry.counter(RequestAdmissionService.ADMITTED_METRIC, "class", requestClass.getTag()).count();
+    }
+
+    private double shed(RequestClass requestClass, String reason) {
+        return meterRegistry.counter(RequestAdmissionService.SHED_METRIC, "class", requestClass.getTag(), "reason", reason).count();
+    }
+
+    private void recordAcquire(Duration latency) {
+        Timer.builder(RequestAdmissionService.CONNECTION_ACQUIRE_METRIC)
+                .tag("pool", "primary")
+                .register(meterRegistry)
+                .record(latency);
+    }
+
+    @Test
+    void testClassify() {
+        assertEquals(Optional.of(RequestClass.AUTH), admissionService.classify("POST", "/api/v1/auth/login"));
+        assertEquals(Optional.of(RequestClass.LIST), admissionService.classify("GET", "/api/v1/todos"));
+        assertEquals(Optional.of(RequestClass.LIST), admissionService.classify("GET", "/api/v1/todos/search"));
+        assertEquals(Optional.of(RequestClass.LIST), admissionService.classify("GET", "/api/v1/todos/upcoming"));
+        assertEquals(Optional.of(RequestClass.CRUD), admissionService.classify("POST", "/api/v1/todos"));
+        assertEquals(Optional.of(RequestClass.CRUD), admissionService.classify("GET", "/api/v1/todos/7"));
+        assertEquals(Optional.of(RequestClass.CRUD), admissionService.classify("PATCH", "/api/v1/todos/7/completion"));
+        assertEquals(Optional.of(RequestClass.BULK), admissionService.classify("GET", "/api/v1/todos/export"));
+        assertEquals(Optional.of(RequestClass.BULK), admissionService.classify("POST", "/api/v1/todos/import"));
+        assertEquals(Optional.of(RequestClass.BULK), admissionService.classify("PATCH", "/api/v1/todos/batch/completion"));
+        assertTrue(admissionService.classify("GET", "/api/v1/todosx").isEmpty());
+        assertTrue(admissionService.classify("GET", "/error").isEmpty());
+
+        ReflectionTestUtils.setField(admissionService, "enabled", false);
+        assertTrue(admissionService.classify("GET", "/api/v1/todos").isEmpty());
+    }
+
+    @Test
+    void testAcquire_ShedsWhenPoolIsFull() {
+        admissionService.acquire(RequestClass.CRUD);
+        admissionService.acquire(RequestClass.CRUD);
+
+        ServiceOverloadedException ex = assertThrows(ServiceOverloadedException.class,
+                () -> admissionService.acquire(RequestClass.CRUD));
+        assertEquals(3L, ex.getRetryAfterSeconds());
+        admissionService.acquire(RequestClass.AUTH);
+
+        admissionService.release(RequestClass.CRUD);
+        admissionService.acquire(RequestClass.CRUD);
+
+        assertEquals(3, admitted(RequestClass.CRUD));
+        assertEquals(1, shed(RequestClass.CRUD, "queue"));
+        assertEquals(2, meterRegistry.get(RequestAdmissionService.IN_FLIGHT_METRIC).tag("class", "crud").gauge().value());
+    }
+
+    @Test
+    void testAcquire_WaitsForAPermitUpToTheQueueTimeout() throws Exception {
+        admissionService.acquire(RequestClass.LIST);
+        CompletableFuture<Void> waiting = CompletableFuture.runAsync(() -> admissionService.acquire(RequestClass.LIST));
+
+        Thread.sleep(100);
+        assertFalse(waiting.isDone());
+        admissionService.release(RequestClass.LIST);
+
+        waiting.get(1, TimeUnit.SECONDS);
+        assertEquals(2, admitted(RequestClass.LIST));
+        assertEquals(0, shed(RequestClass.LIST, "queue"));
+    }
+
+    @Test
+    void testAcquire_ShedsExpensiveClassesWhenConnectionAcquireIsSlow() {
+        recordAcquire(Duration.ofMillis(5));
+        admissionService.sampleConnectionAcquire();
+        recordAcquire(Duration.ofMillis(900));
+        recordAcquire(Duration.ofMillis(700));
+        admissionService.sampleConnectionAcquire();
+
+        assertEquals(800, admissionService.getRecentAcquireMs(), 0.001);
+        assertThrows(ServiceOverloadedException.class, () -> admissionService.acquire(RequestClass.LIST));
+        assertThrows(ServiceOverloadedException.class, () -> admissionService.acquire(RequestClass.BULK));
+        admissionService.acquire(RequestClass.CRUD);
+        admissionService.acquire(RequestClass.AUTH);
+        assertEquals(1, shed(RequestClass.LIST, "connection_acquire"));
+        assertEquals(1, shed(RequestClass.BULK, "connection_acquire"));
+
+        recordAcquire(Duration.ofMillis(10));
+        admissionService.sampleConnectionAcquire();
+
+        admissionService.acquire(RequestClass.LIST);
+        assertEquals(1, admitted(RequestClass.LIST));
+    }
+
+    @Test
+    void testSampleConnectionAcquire_StalledPoolCountsAsSlow() {
+        AtomicInteger pending = new AtomicInteger();
+        meterRegistry.gauge(RequestAdmissionService.CONNECTION_PENDING_METRIC, pending);
+
+        pending.set(4);
+        admissionService.sampleConnectionAcquire();
+        assertEquals(1000, admissionService.getRecentAcquireMs(), 0.001);
+        assertThrows(ServiceOverloadedException.class, () -> admissionService.acquire(RequestClass.BULK));
+
+        pending.set(0);
+        admissionService.sampleConnectionAcquire();
+        assertEquals(0, admissionService.getRecentAcquireMs(), 0.001);
+        admissionService.acquire(RequestClass.BULK);
+    }
+
+    @Test
+    void testSampleConnectionAcquire_CountsTimeQueuedAtTheConnectionGate() {
+        AtomicLong gateWaitMs = new AtomicLong();
+        FunctionTimer.builder(RequestAdmissionService.GATE_WAIT_METRIC, gateWaitMs, waitMs -> 2, AtomicLong::get, TimeUnit.MILLISECONDS)
+                .register(meterRegistry);
+        AtomicInteger waiting = new AtomicInteger();
+        meterRegistry.gauge(RequestAdmissionService.GATE_WAITING_METRIC, waiting);
+
+        gateWaitMs.set(980);
+        recordAcquire(Duration.ofMillis(10));
+        recordAcquire(Duration.ofMillis(10));
+        admissionService.sampleConnectionAcquire();
+        assertEquals(500, admissionService.getRecentAcquireMs(), 0.001);
+        assertThrows(ServiceOverloadedException.class, () -> admissionService.acquire(RequestClass.LIST));
+
+        waiting.set(3);
+        admissionService.sampleConnectionAcquire();
+        assertEquals(1000, admissionService.getRecentAcquireMs(), 0.001);
+    }
+}
@@ -0,0 +1,63 @@
+package com.cedar.todoapp.services;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TimingWheelTest {
+
+    private static final long START = 1_000_000L;
+
+    @Test
+    void testAdvance_FiresEntriesOnTheFirstTickAtOrAfterExpiration() {
+        TimingWheel<String> wheel = new TimingWheel<>(10, 8, START);
+        wheel.add("soon", START + 25);
+        wheel.add("later", START + 55);
+
+        assertEquals(List.of(), wheel.advance(START + 24));
+        assertEquals(List.of("soon"), wheel.advance(START + 30));
+        assertEquals(List.of(), wheel.advance(START + 59));
+        assertEquals(List.of("later"), wheel.advance(START + 60));
+    }
+
+    @Test
+    void testAdvance_CascadesFromOverflowWheels() {
+        TimingWheel<Integer> wheel = new TimingWheel<>(10, 4, START);
+        List<Integer> fired = new ArrayList<>();
+        for (int i = 1; i <= 200; i++) {
+            assertTrue(wheel.add(i, START + i * 7L));
+        }
+
+        for (long now = START; now <= START + 1400; now += 10) {
+            for (Integer item : wheel.advance(now)) {
+                assertTrue(START + item * 7L <= now, "fired early: " + item);
+                assertTrue(START + item * 7L > now - 10, "fired late: " + item);
+                fired.add(item);
+            }
+        }
+
+        assertEquals(200, fired.size());
+    }
+
+    @Test
+    void testAdd_RejectsExpiredEntries() {
+        TimingWheel<String> wheel = new TimingWheel<>(10, 8, START);
+
+        assertFalse(wheel.add("past", START - 100));
+        assertFalse(wheel.add("now", START));
+        assertTrue(wheel.add("within tick", START + 5));
+    }
+
+    @Test
+    void testAdvance_JumpsOverIdlePeriods() {
+        TimingWheel<String> wheel = new TimingWheel<>(10, 8, START);
+        wheel.add("far", START + 10_000);
+
+        assertEquals(List.of("far"), wheel.advance(START + 20_000));
+        assertTrue(wheel.add("after jump", START + 20_030));
+        assertEquals(List.of("after jump"), wheel.advance(START + 20_030));
+    }
+}
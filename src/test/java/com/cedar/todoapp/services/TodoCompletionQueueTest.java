@@ -0,0 +1,193 @@
+package com.cedar.todoapp.services;
+
+import com.cedar.todoapp.models.PendingCompletion;
+import com.cedar.todoapp.models.Priority;
+import com.cedar.todoapp.models.Todo;
+import com.cedar.todoapp.models.TodoStatsDelta;
+import com.cedar.todoapp.repositories.TodoRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+class TodoCompletionQueueTest {
+
+    private static final Integer USER_ID = 1;
+    private static final Integer OTHER_USER_ID = 2;
+
+    @Mock
+    private TodoRepository repository;
+
+    @Mock
+    private TodoStatsService statsService;
+
+    @Mock
+    private TodoCollectionVersions collectionVersions;
+
+    @Mock
+    private TodoDueDateScheduler dueDateScheduler;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private MeterRegistry meterRegistry;
+    private TodoCompletionQueue queue;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        meterRegistry = new SimpleMeterRegistry();
+        queue = new TodoCompletionQueue(repository, statsService, collectionVersions, dueDateScheduler, transactionTemplate, meterRegistry);
+        ReflectionTestUtils.setField(queue, "flushIntervalMs", 60000L);
+        ReflectionTestUtils.setField(queue, "maxPending", 100);
+
+        doAnswer(invocation -> {
+            TransactionSynchronizationManager.initSynchronization();
+            int status = TransactionSynchronization.STATUS_COMMITTED;
+            try {
+                invocation.getArgument(0, Consumer.class).accept(null);
+            } catch (RuntimeException ex) {
+                status = TransactionSynchronization.STATUS_ROLLED_BACK;
+                throw ex;
+            } finally {
+                List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+                TransactionSynchronizationManager.clearSynchronization();
+                TransactionSynchronizationUtils.invokeAfterCompletion(synchronizations, status);
+            }
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+        when(statsService.contribution(any(Todo.class))).thenAnswer(invocation ->
+                TodoStatsDelta.of(invocation.getArgument(0)));
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        queue.destroy();
+    }
+
+    private Todo todo(Integer id, boolean completed) {
+        return Todo.builder().id(id).priority(Priority.LOW).completed(completed).build();
+    }
+
+    @Test
+    void testEnqueue_CoalescesTogglesPerTodo() {
+        queue.init();
+
+        queue.enqueue(USER_ID, 10, true);
+        queue.enqueue(USER_ID, 10, false);
+        queue.enqueue(USER_ID, 10, true);
+
+        assertEquals(Optional.of(new PendingCompletion(10, USER_ID, true)), queue.findPending(10));
+        assertTrue(queue.findPending(11).isEmpty());
+        assertEquals(1, meterRegistry.get(TodoCompletionQueue.PENDING_METRIC).gauge().value());
+        assertEquals(2, meterRegistry.counter(TodoCompletionQueue.COALESCED_METRIC).count());
+    }
+
+    @Test
+    void testFlushAll_AppliesLastValuesInOneBatch() {
+        queue.init();
+        Todo first = todo(10, false);
+        Todo second = todo(11, true);
+        Todo unchanged = todo(12, true);
+        when(repository.findAllById(anyCollection())).thenReturn(List.of(first, second, unchanged));
+        queue.enqueue(USER_ID, 10, false);
+        queue.enqueue(USER_ID, 10, true);
+        queue.enqueue(USER_ID, 11, false);
+        queue.enqueue(USER_ID, 12, true);
+
+        queue.flushAll();
+
+        assertTrue(first.getCompleted());
+        assertFalse(second.getCompleted());
+        verify(repository).findAllById(argThatContainsExactly(10, 11, 12));
+        verify(statsService).record(USER_ID, TodoStatsDelta.ZERO);
+        verify(collectionVersions).bump(USER_ID);
+        verify(dueDateScheduler).schedule(USER_ID, first);
+        verify(dueDateScheduler).schedule(USER_ID, second);
+        verify(dueDateScheduler, never()).schedule(USER_ID, unchanged);
+        assertTrue(queue.findPending(10).isEmpty());
+        assertEquals(1, meterRegistry.timer(TodoCompletionQueue.FLUSH_METRIC).count());
+    }
+
+    @Test
+    void testFlush_OnlyDrainsTheGivenUser() {
+        queue.init();
+        when(repository.findAllById(anyCollection())).thenReturn(List.of(todo(10, false)));
+        queue.enqueue(USER_ID, 10, true);
+        queue.enqueue(OTHER_USER_ID, 20, true);
+
+        queue.flush(USER_ID);
+        queue.flush(USER_ID);
+
+        verify(repository, times(1)).findAllById(argThatContainsExactly(10));
+        assertTrue(queue.findPending(10).isEmpty());
+        assertTrue(queue.findPending(20).isPresent());
+    }
+
+    @Test
+    void testFlush_RequeuesOnRollback() {
+        queue.init();
+        when(repository.findAllById(anyCollection()))
+                .thenThrow(new IllegalStateException("database unavailable"))
+                .thenReturn(List.of(todo(10, false)));
+        queue.enqueue(USER_ID, 10, true);
+
+        assertThrows(IllegalStateException.class, () -> queue.flushAll());
+        assertTrue(queue.findPending(10).isPresent());
+
+        queue.flushAll();
+        assertTrue(queue.findPending(10).isEmpty());
+        verify(collectionVersions).bump(USER_ID);
+    }
+
+    @Test
+    void testEnqueue_FlushesWhenThresholdIsReached() {
+        ReflectionTestUtils.setField(queue, "enabled", true);
+        ReflectionTestUtils.setField(queue, "maxPending", 2);
+        queue.init();
+        when(repository.findAllById(anyCollection())).thenReturn(List.of(todo(10, false), todo(11, false)));
+
+        queue.enqueue(USER_ID, 10, true);
+        verify(repository, after(100).never()).findAllById(anyCollection());
+        queue.enqueue(USER_ID, 11, true);
+
+        verify(repository, timeout(1000)).findAllById(anyCollection());
+    }
+
+    @Test
+    void testDestroy_DrainsPendingUpdates() throws InterruptedException {
+        ReflectionTestUtils.setField(queue, "enabled", true);
+        queue.init();
+        Todo todo = todo(10, false);
+        when(repository.findAllById(anyCollection())).thenReturn(List.of(todo));
+        queue.enqueue(USER_ID, 10, true);
+
+        queue.destroy();
+
+        assertTrue(todo.getCompleted());
+        assertTrue(queue.findPending(10).isEmpty());
+    }
+
+    private static Collection<Integer> argThatContainsExactly(Integer... ids) {
+        return argThat(collection -> collection.size() == ids.length && collection.containsAll(List.of(ids)));
+    }
+}
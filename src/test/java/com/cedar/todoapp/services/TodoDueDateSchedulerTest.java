@@ -0,0 +1,270 @@
+package com.cedar.todoapp.services;
+
+import com.cedar.todoapp.models.Todo;
+import com.cedar.todoapp.models.TodoDueDate;
+import com.cedar.todoapp.models.TodoDueWatermark;
+import com.cedar.todoapp.models.TodoOverdueEvent;
+import com.cedar.todoapp.repositories.TodoDueWatermarkRepository;
+import com.cedar.todoapp.repositories.TodoRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+class TodoDueDateSchedulerTest {
+
+    private static final Integer USER_ID = 7;
+
+    @Mock
+    private TodoRepository todoRepository;
+
+    @Mock
+    private TodoDueWatermarkRepository watermarkRepository;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private MeterRegistry meterRegistry;
+    private TodoDueDateScheduler scheduler;
+    private LocalDateTime now;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        meterRegistry = new SimpleMeterRegistry();
+        scheduler = new TodoDueDateScheduler(todoRepository, watermarkRepository, meterRegistry, transactionTemplate, eventPublisher);
+        ReflectionTestUtils.setField(scheduler, "tickMs", 1000L);
+        ReflectionTestUtils.setField(scheduler, "wheelSize", 60);
+        ReflectionTestUtils.setField(scheduler, "windowMinutes", 60L);
+        ReflectionTestUtils.setField(scheduler, "maxCatchUpMinutes", 1440L);
+        when(watermarkRepository.findById(TodoDueWatermark.SINGLETON_ID)).thenReturn(Optional.empty());
+        doAnswer(invocation -> {
+            TransactionSynchronizationManager.initSynchronization();
+            try {
+                invocation.getArgument(0, Consumer.class).accept(null);
+                verify(eventPublisher, never()).publishEvent(any(Object.class));
+                TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+            } finally {
+                TransactionSynchronizationManager.clearSynchronization();
+            }
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+        now = LocalDateTime.now();
+    }
+
+    private double transitions() {
+        return meterRegistry.counter(TodoDueDateScheduler.OVERDUE_TRANSITIONS_METRIC).count();
+    }
+
+    private Todo todo(Integer id, LocalDateTime dueDate, boolean completed) {
+        return Todo.builder().id(id).dueDate(dueDate).completed(completed).build();
+    }
+
+    @Test
+    void testAdvance_FiresLoadedTodosOnceTheyAreDue() {
+        TodoDueDate due = new TodoDueDate(1, USER_ID, now.plusSeconds(30));
+        when(todoRepository.findOpenDueBetween(now, now.plusMinutes(60))).thenReturn(List.of(due));
+        when(todoRepository.findOpenDueDatesByIdIn(List.of(1))).thenReturn(List.of(due));
+        scheduler.start(now);
+
+        scheduler.advance(now.plusSeconds(29));
+        assertEquals(0, transitions());
+
+        scheduler.advance(now.plusSeconds(31));
+        assertEquals(1, transitions());
+        assertEquals(0, scheduler.scheduledCount());
+        verify(watermarkRepository).save(argThat(watermark -> watermark.getFiredThrough().equals(now.plusSeconds(31))));
+        verify(eventPublisher).publishEvent(new TodoOverdueEvent(1, USER_ID, due.dueDate()));
+    }
+
+    @Test
+    void testAdvance_PublishesEventsOnlyAfterCommit() {
+        TodoDueDate first = new TodoDueDate(15, USER_ID, now.plusSeconds(5));
+        TodoDueDate second = new TodoDueDate(16, USER_ID + 1, now.plusSeconds(8));
+        when(todoRepository.findOpenDueBetween(now, now.plusMinutes(60))).thenReturn(List.of(first, second));
+        when(todoRepository.findOpenDueDatesByIdIn(anyCollection())).thenReturn(List.of(first, second));
+        scheduler.start(now);
+
+        scheduler.advance(now.plusSeconds(10));
+
+        ArgumentCaptor<TodoOverdueEvent> events = ArgumentCaptor.forClass(TodoOverdueEvent.class);
+        verify(eventPublisher, times(2)).publishEvent(events.capture());
+        assertEquals(List.of(new TodoOverdueEvent(15, USER_ID, first.dueDate()), new TodoOverdueEvent(16, USER_ID + 1, second.dueDate())),
+                events.getAllValues());
+        verify(transactionTemplate).executeWithoutResult(any());
+    }
+
+    @Test
+    void testAdvance_PublishesNothingWhenTransactionRollsBack() {
+        TodoDueDate due = new TodoDueDate(17, USER_ID, now.plusSeconds(5));
+        when(todoRepository.findOpenDueBetween(now, now.plusMinutes(60))).thenReturn(List.of(due));
+        when(todoRepository.findOpenDueDatesByIdIn(List.of(17))).thenReturn(List.of(due));
+        when(watermarkRepository.save(any())).thenThrow(new IllegalStateException("rolled back"));
+        scheduler.start(now);
+
+        assertThrows(IllegalStateException.class, () -> scheduler.advance(now.plusSeconds(10)));
+
+        verify(eventPublisher, never()).publishEvent(any(Object.class));
+        assertEquals(0, transitions());
+    }
+
+    @Test
+    void testCancel_PreventsEvent() {
+        scheduler.start(now);
+        scheduler.schedule(USER_ID, todo(2, now.plusSeconds(10), false));
+        assertEquals(1, scheduler.scheduledCount());
+
+        scheduler.cancel(2);
+        scheduler.advance(now.plusSeconds(20));
+
+        assertEquals(0, transitions());
+        verify(todoRepository, never()).findOpenDueDatesByIdIn(anyCollection());
+    }
+
+    @Test
+    void testSchedule_ReplacesPreviousDueDate() {
+        LocalDateTime moved = now.plusSeconds(50);
+        when(todoRepository.findOpenDueBetween(now, now.plusMinutes(60)))
+                .thenReturn(List.of(new TodoDueDate(3, USER_ID, now.plusSeconds(10))));
+        when(todoRepository.findOpenDueDatesByIdIn(List.of(3))).thenReturn(List.of(new TodoDueDate(3, USER_ID, moved)));
+        scheduler.start(now);
+
+        scheduler.schedule(USER_ID, todo(3, moved, false));
+        scheduler.advance(now.plusSeconds(20));
+        assertEquals(0, transitions());
+
+        scheduler.advance(now.plusSeconds(51));
+        assertEquals(1, transitions());
+    }
+
+    @Test
+    void testAdvance_SkipsTodosCompletedOrChangedSinceLoading() {
+        TodoDueDate stale = new TodoDueDate(4, USER_ID, now.plusSeconds(5));
+        when(todoRepository.findOpenDueBetween(now, now.plusMinutes(60))).thenReturn(List.of(stale));
+        when(todoRepository.findOpenDueDatesByIdIn(List.of(4))).thenReturn(List.of());
+        scheduler.start(now);
+
+        scheduler.advance(now.plusSeconds(10));
+
+        assertEquals(0, transitions());
+        verify(eventPublisher, never()).publishEvent(any(Object.class));
+    }
+
+    @Test
+    void testAdvance_FiresWhenStoredDueDateIsTruncated() {
+        LocalDateTime dueDate = now.plusSeconds(5).withNano(123456789);
+        LocalDateTime stored = dueDate.withNano(123456000);
+        when(todoRepository.findOpenDueDatesByIdIn(List.of(10))).thenReturn(List.of(new TodoDueDate(10, USER_ID, stored)));
+        scheduler.start(now);
+
+        scheduler.schedule(USER_ID, todo(10, dueDate, false));
+        scheduler.advance(now.plusSeconds(7));
+
+        assertEquals(1, transitions());
+    }
+
+    @Test
+    void testReload_SchedulesStoredDueDateOnNextTick() {
+        TodoDueDate reopened = new TodoDueDate(11, USER_ID, LocalDateTime.now().plusSeconds(5));
+        TodoDueDate stale = new TodoDueDate(12, USER_ID, LocalDateTime.now().minusSeconds(5));
+        when(todoRepository.findOpenDueDatesByIdIn(anyCollection())).thenReturn(List.of(reopened, stale));
+        scheduler.start(now);
+
+        scheduler.reload(11);
+        scheduler.reload(12);
+        assertEquals(0, scheduler.scheduledCount());
+
+        scheduler.advance(now.plusSeconds(1));
+        assertEquals(1, scheduler.scheduledCount());
+        assertEquals(0, transitions());
+    }
+
+    @Test
+    void testSchedule_IgnoresCompletedPastAndBeyondHorizon() {
+        scheduler.start(now);
+
+        scheduler.schedule(USER_ID, todo(5, now.plusMinutes(5), true));
+        scheduler.schedule(USER_ID, todo(6, now.minusMinutes(5), false));
+        scheduler.schedule(USER_ID, todo(7, now.plusHours(5), false));
+        scheduler.schedule(USER_ID, todo(8, null, false));
+
+        assertEquals(0, scheduler.scheduledCount());
+    }
+
+    @Test
+    void testAdvance_LoadsNextWindowAheadOfTime() {
+        when(todoRepository.findOpenDueBetween(any(), any())).thenReturn(List.of());
+        scheduler.start(now);
+
+        scheduler.advance(now.plusMinutes(20));
+        verify(todoRepository, never()).findOpenDueBetween(now.plusMinutes(60), now.plusMinutes(120));
+
+        scheduler.advance(now.plusMinutes(31));
+        verify(todoRepository).findOpenDueBetween(now.plusMinutes(60), now.plusMinutes(120));
+        scheduler.schedule(USER_ID, todo(9, now.plusMinutes(90), false));
+        assertEquals(1, scheduler.scheduledCount());
+    }
+
+    @Test
+    void testSchedule_WaitsForCommit() {
+        scheduler.start(now);
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            scheduler.schedule(USER_ID, todo(13, now.plusSeconds(10), false));
+            assertEquals(0, scheduler.scheduledCount());
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+            assertEquals(1, scheduler.scheduledCount());
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void testStart_FiresTodosThatBecameDueWhileStopped() {
+        LocalDateTime firedThrough = now.minusMinutes(10);
+        TodoDueDate missed = new TodoDueDate(14, USER_ID, now.minusMinutes(5));
+        when(watermarkRepository.findById(TodoDueWatermark.SINGLETON_ID))
+                .thenReturn(Optional.of(new TodoDueWatermark(TodoDueWatermark.SINGLETON_ID, firedThrough)));
+        when(todoRepository.findOpenDueBetween(firedThrough, firedThrough.plusMinutes(60))).thenReturn(List.of(missed));
+        when(todoRepository.findOpenDueDatesByIdIn(List.of(14))).thenReturn(List.of(missed));
+        scheduler.start(now);
+
+        scheduler.advance(now);
+
+        assertEquals(1, transitions());
+    }
+
+    @Test
+    void testStart_CapsCatchUp() {
+        when(watermarkRepository.findById(TodoDueWatermark.SINGLETON_ID))
+                .thenReturn(Optional.of(new TodoDueWatermark(TodoDueWatermark.SINGLETON_ID, now.minusDays(30))));
+        when(todoRepository.findOpenDueBetween(any(), any())).thenReturn(List.of());
+
+        scheduler.start(now);
+
+        verify(todoRepository).findOpenDueBetween(now.minusDays(1), now.minusDays(1).plusMinutes(60));
+    }
+}
@@ -0,0 +1,121 @@
+package com.cedar.todoapp.services;
+
+import com.cedar.todoapp.dtos.BatchItemResult;
+import com.cedar.todoapp.dtos.BatchResponse;
+import com.cedar.todoapp.dtos.CreateTodoRequest;
+import com.cedar.todoapp.dtos.ImportResponse;
+import com.cedar.todoapp.dtos.ImportRowError;
+import com.cedar.todoapp.models.Priority;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+class TodoImportServiceTest {
+
+    @Mock
+    private TodoService todoService;
+
+    private TodoImportService importService;
+
+    private final List<List<CreateTodoRequest>> batches = new ArrayList<>();
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        importService = new TodoImportService(todoService, new ObjectMapper().findAndRegisterModules());
+
+        when(todoService.createTodos(anyList())).thenAnswer(invocation -> {
+            List<CreateTodoRequest> requests = invocation.getArgument(0);
+            batches.add(List.copyOf(requests));
+            List<BatchItemResult> results = IntStream.range(0, requests.size())
+                    .mapToObj(i -> requests.get(i).title().isBlank()
+                            ? new BatchItemResult(i, null, 400, "Title is required")
+                            : new BatchItemResult(i, i + 1, 201, null))
+                    .toList();
+            return BatchResponse.of(results);
+        });
+    }
+
+    private static InputStream body(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void testImportNdjson() throws Exception {
+        String ndjson = """
+                {"title":"Buy milk","priority":"HIGH"}
+                not json
+
+                {"title":"","priority":"LOW"}
+                {"title":"Call mom","description":"Sunday","dueDate":"2030-01-01T10:00:00","priority":"MEDIUM"}
+                """;
+
+        ImportResponse response = importService.importNdjson(body(ndjson));
+
+        assertEquals(2, response.accepted());
+        assertEquals(2, response.rejected());
+        assertTrue(response.errors().contains(new ImportRowError(2, "Malformed JSON record")));
+        assertTrue(response.errors().contains(new ImportRowError(4, "Title is required")));
+        assertEquals(LocalDateTime.of(2030, 1, 1, 10, 0), batches.get(0).get(2).dueDate());
+    }
+
+    @Test
+    void testImportCsv() throws Exception {
+        String csv = "priority,title,description,dueDate\r\n"
+                + "HIGH,Buy milk,\"2% fat, \"\"organic\"\"\",\r\n"
+                + "low,\"Multi\nline\",,2030-01-01T10:00:00\r\n"
+                + "URGENT,Bad priority,,\r\n"
+                + "\r\n"
+                + "MEDIUM,Last,,";
+
+        ImportResponse response = importService.importCsv(body(csv));
+
+        assertEquals(3, response.accepted());
+        assertEquals(1, response.rejected());
+        assertEquals(3, response.errors().get(0).row());
+
+        List<CreateTodoRequest> imported = batches.get(0);
+        assertEquals(new CreateTodoRequest("Buy milk", "2% fat, \"organic\"", null, Priority.HIGH), imported.get(0));
+        assertEquals(new CreateTodoRequest("Multi\nline", null, LocalDateTime.of(2030, 1, 1, 10, 0), Priority.LOW), imported.get(1));
+        assertEquals("Last", imported.get(2).title());
+    }
+
+    @Test
+    void testImportCsv_RequiresTitleColumn() throws Exception {
+        ImportResponse response = importService.importCsv(body("name,priority\nBuy milk,HIGH\n"));
+
+        assertEquals(0, response.accepted());
+        assertEquals(1, response.rejected());
+        verifyNoInteractions(todoService);
+    }
+
+    @Test
+    void testImportWritesFixedSizeBatches() throws Exception {
+        StringBuilder ndjson = new StringBuilder();
+        for (int i = 0; i < TodoImportService.BATCH_SIZE * 2 + 1; i++) {
+            ndjson.append("{\"title\":\"Todo ").append(i).append("\",\"priority\":\"LOW\"}\n");
+        }
+
+        ImportResponse response = importService.importNdjson(body(ndjson.toString()));
+
+        assertEquals(TodoImportService.BATCH_SIZE * 2 + 1, response.accepted());
+        verify(todoService, times(3)).createTodos(anyList());
+        assertEquals(List.of(TodoImportService.BATCH_SIZE, TodoImportService.BATCH_SIZE, 1),
+                batches.stream().map(List::size).toList());
+    }
+}
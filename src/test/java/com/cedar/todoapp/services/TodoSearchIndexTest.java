@@ -0,0 +1,137 @@
+package com.cedar.todoapp.services;
+
+import com.cedar.todoapp.models.TodoSearchDocument;
+import com.cedar.todoapp.repositories.TodoRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class TodoSearchIndexTest {
+
+    @Mock
+    private TodoRepository todoRepository;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @InjectMocks
+    private TodoSearchIndex searchIndex;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        ReflectionTestUtils.setField(searchIndex, "enabled", true);
+        ReflectionTestUtils.setField(searchIndex, "maxHits", 1000);
+    }
+
+    @Test
+    void testSearch_MatchesTokensAndPrefixes() {
+        searchIndex.index(1, 10, "Buy milk", "From the corner shop");
+        searchIndex.index(1, 11, "Pay bills", "Electricity and milkshake money");
+
+        assertEquals(List.of(10, 11), searchIndex.search(1, "milk"));
+        assertEquals(List.of(11), searchIndex.search(1, "ELECTRIC"));
+        assertEquals(List.of(10), searchIndex.search(1, "milk corner"));
+        assertTrue(searchIndex.search(1, "groceries").isEmpty());
+    }
+
+    @Test
+    void testSearch_RanksTitleMatchesFirst() {
+        searchIndex.index(1, 10, "Call mom", "Ask about the report");
+        searchIndex.index(1, 11, "Write report", "Quarterly numbers");
+
+        assertEquals(List.of(11, 10), searchIndex.search(1, "report"));
+    }
+
+    @Test
+    void testSearch_IsScopedToUser() {
+        searchIndex.index(1, 10, "Buy milk", null);
+        searchIndex.index(2, 20, "Buy milk", null);
+
+        assertEquals(List.of(10), searchIndex.search(1, "milk"));
+        assertEquals(List.of(20), searchIndex.search(2, "milk"));
+        assertTrue(searchIndex.search(3, "milk").isEmpty());
+    }
+
+    @Test
+    void testIndex_ReplacesPreviousTerms() {
+        searchIndex.index(1, 10, "Buy milk", null);
+        searchIndex.index(1, 10, "Buy bread", null);
+
+        assertTrue(searchIndex.search(1, "milk").isEmpty());
+        assertEquals(List.of(10), searchIndex.search(1, "bread"));
+    }
+
+    @Test
+    void testUpdate_KeepsFieldsThatAreNotGiven() {
+        searchIndex.index(1, 10, "Buy milk", "From the corner shop");
+
+        searchIndex.update(1, 10, "Buy bread", null);
+
+        assertTrue(searchIndex.search(1, "milk").isEmpty());
+        assertEquals(List.of(10), searchIndex.search(1, "bread corner"));
+    }
+
+    @Test
+    void testRemove() {
+        searchIndex.index(1, 10, "Buy milk", null);
+
+        searchIndex.remove(1, 10);
+
+        assertTrue(searchIndex.search(1, "milk").isEmpty());
+        assertTrue(searchIndex.search(1, "").isEmpty());
+    }
+
+    @Test
+    void testSearch_ReturnsAtMostMaxHitsBestRanked() {
+        ReflectionTestUtils.setField(searchIndex, "maxHits", 2);
+        searchIndex.index(1, 10, "Report", null);
+        searchIndex.index(1, 11, "Draft", "Report");
+        searchIndex.index(1, 12, "Report report", null);
+
+        assertEquals(List.of(12, 10), searchIndex.search(1, "report"));
+    }
+
+    @Test
+    void testDisabled_SkipsRebuildAndIndexing() {
+        ReflectionTestUtils.setField(searchIndex, "enabled", false);
+
+        searchIndex.afterSingletonsInstantiated();
+        searchIndex.index(1, 10, "Buy milk", null);
+
+        assertFalse(searchIndex.isEnabled());
+        assertTrue(searchIndex.search(1, "milk").isEmpty());
+        verifyNoInteractions(todoRepository, transactionTemplate);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testRebuild_LoadsAllDocuments() {
+        searchIndex.index(1, 99, "Stale entry", null);
+        doAnswer(invocation -> ((TransactionCallback<Object>) invocation.getArgument(0)).doInTransaction(null))
+                .when(transactionTemplate).execute(any());
+        doCallRealMethod().when(transactionTemplate).executeWithoutResult(any());
+        when(todoRepository.streamSearchDocuments()).thenReturn(Stream.of(
+                new TodoSearchDocument(10, 1, "Buy milk", null),
+                new TodoSearchDocument(20, 2, "Walk dog", "Around the park")
+        ));
+
+        searchIndex.rebuild();
+
+        assertTrue(searchIndex.search(1, "stale").isEmpty());
+        assertEquals(List.of(10), searchIndex.search(1, "milk"));
+        assertEquals(List.of(20), searchIndex.search(2, "park"));
+    }
+}
@@ -0,0 +1,168 @@
+package com.cedar.todoapp.services;
+
+import com.cedar.todoapp.EmbeddedMariaDb;
+import com.cedar.todoapp.configs.ReadReplicaConfiguration;
+import com.cedar.todoapp.configs.ReadWriteRoutingDataSource;
+import com.cedar.todoapp.dtos.CreateTodoRequest;
+import com.cedar.todoapp.exceptions.TodoNotFoundException;
+import com.cedar.todoapp.mappers.TodoMapper;
+import com.cedar.todoapp.models.AuthenticatedUser;
+import com.cedar.todoapp.models.Priority;
+import com.cedar.todoapp.models.TodoStatsDelta;
+import com.cedar.todoapp.models.User;
+import com.cedar.todoapp.repositories.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.validation.beanvalidation.LocalValidatorFactoryBean;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+@DataJpaTest(properties = {"spring.jpa.show-sql=false", "todo.datasource.read-your-writes=1m"})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({ReadReplicaConfiguration.class, TodoService.class, TodoMapper.class, TodoCollectionVersions.class, LocalValidatorFactoryBean.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class TodoServiceReadReplicaTest {
+
+    private static final String INSERT_USER = "insert into user (id, full_name, email, password) values (?, ?, ?, ?)";
+    private static final String INSERT_TODO = "insert into todo (id, user_id, title, priority, completed) values (?, ?, ?, 'LOW', false)";
+    private static final AtomicInteger MANUAL_IDS = new AtomicInteger(1_000_000);
+
+    @Autowired
+    private TodoService todoService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    @Qualifier("primaryDataSource")
+    private DataSource primaryDataSource;
+
+    @Autowired
+    @Qualifier("replicaDataSource")
+    private DataSource replicaDataSource;
+
+    @MockBean
+    private TodoSearchIndex searchIndex;
+
+    @MockBean
+    private TodoStatsService statsService;
+
+    @MockBean
+    private TodoDueDateScheduler dueDateScheduler;
+
+    @MockBean
+    private TodoCompletionQueue completionQueue;
+
+    private JdbcTemplate primary;
+    private JdbcTemplate replica;
+    private User user;
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        EmbeddedMariaDb.registerDataSource(registry, "todo_primary");
+        EmbeddedMariaDb.registerReplicaDataSource(registry, "todo_replica");
+    }
+
+    @BeforeEach
+    void setUp() {
+        primary = new JdbcTemplate(primaryDataSource);
+        replica = new JdbcTemplate(replicaDataSource);
+        user = userRepository.save(User.builder()
+                .fullName("Replica User")
+                .email(UUID.randomUUID() + "@example.com")
+                .password("secret")
+                .build());
+        replica.update(INSERT_USER, user.getId(), user.getFullName(), user.getEmail(), user.getPassword());
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                new AuthenticatedUser(user.getId(), user.getEmail()), null, List.of()));
+        when(statsService.contribution(any())).thenReturn(TodoStatsDelta.ZERO);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void testReadOnlyQueries_ServedByReplica() {
+        int id = MANUAL_IDS.incrementAndGet();
+        primary.update(INSERT_TODO, id, user.getId(), "Primary copy");
+
+        assertThrows(TodoNotFoundException.class, () -> todoService.findByIdAndUser(id));
+        assertTrue(todoService.findAllTodos(Pageable.unpaged()).isEmpty());
+
+        replica.update(INSERT_TODO, id, user.getId(), "Replica copy");
+
+        assertEquals("Replica copy", todoService.findByIdAndUser(id).todo().title());
+        assertEquals(1, todoService.findAllTodos(Pageable.unpaged()).getTotalElements());
+    }
+
+    @Test
+    void testWrites_GoToPrimaryAndPinReadsToIt() {
+        Integer id = todoService.createTodo(new CreateTodoRequest("Written", "Description", null, Priority.HIGH));
+
+        assertEquals(1, primary.queryForObject("select count(*) from todo where id = ?", Integer.class, id));
+        assertEquals(0, replica.queryForObject("select count(*) from todo where id = ?", Integer.class, id));
+        assertEquals("Written", todoService.findByIdAndUser(id).todo().title());
+    }
+
+    @Test
+    void testReadYourWrites_IsScopedToTheWriter() {
+        todoService.createTodo(new CreateTodoRequest("Written", "Description", null, Priority.HIGH));
+        User other = userRepository.save(User.builder()
+                .fullName("Other User")
+                .email(UUID.randomUUID() + "@example.com")
+                .password("secret")
+                .build());
+        int id = MANUAL_IDS.incrementAndGet();
+        primary.update(INSERT_TODO, id, other.getId(), "Unreplicated");
+
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                new AuthenticatedUser(other.getId(), other.getEmail()), null, List.of()));
+
+        assertThrows(TodoNotFoundException.class, () -> todoService.findByIdAndUser(id));
+    }
+
+    @Test
+    void testReadYourWrites_CoversBackgroundWriters() {
+        SecurityContextHolder.clearContext();
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            userRepository.save(user);
+            ReadWriteRoutingDataSource.recordWriters(List.of(user.getId()));
+        });
+        int id = MANUAL_IDS.incrementAndGet();
+        primary.update(INSERT_TODO, id, user.getId(), "Flushed");
+
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                new AuthenticatedUser(user.getId(), user.getEmail()), null, List.of()));
+
+        assertEquals("Flushed", todoService.findByIdAndUser(id).todo().title());
+    }
+}
@@ -0,0 +1,214 @@
+package com.cedar.todoapp.services;
+
+import com.cedar.todoapp.EmbeddedMariaDb;
+import com.cedar.todoapp.dtos.CreateTodoRequest;
+import com.cedar.todoapp.dtos.UpdateTodoRequest;
+import com.cedar.todoapp.dtos.VersionedTodoResponse;
+import com.cedar.todoapp.exceptions.TodoNotFoundException;
+import com.cedar.todoapp.mappers.TodoMapper;
+import com.cedar.todoapp.models.AuthenticatedUser;
+import com.cedar.todoapp.models.Priority;
+import com.cedar.todoapp.models.TodoStatsDelta;
+import com.cedar.todoapp.models.User;
+import com.cedar.todoapp.repositories.TodoRepository;
+import com.cedar.todoapp.repositories.UserRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.validation.beanvalidation.LocalValidatorFactoryBean;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+@DataJpaTest(properties = "spring.jpa.show-sql=false")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("second-level-cache")
+@Import({TodoService.class, TodoMapper.class, TodoCollectionVersions.class, LocalValidatorFactoryBean.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class TodoServiceSecondLevelCacheTest {
+
+    @Autowired
+    private TodoService todoService;
+
+    @Autowired
+    private TodoRepository todoRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @MockBean
+    private TodoSearchIndex searchIndex;
+
+    @MockBean
+    private TodoStatsService statsService;
+
+    @MockBean
+    private TodoDueDateScheduler dueDateScheduler;
+
+    @MockBean
+    private TodoCompletionQueue completionQueue;
+
+    private Statistics statistics;
+    private User user;
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        EmbeddedMariaDb.registerDataSource(registry, "todo_cache");
+    }
+
+    @BeforeEach
+    void setUp() {
+        user = userRepository.save(User.builder()
+                .fullName("Cache User")
+                .email(UUID.randomUUID() + "@example.com")
+                .password("secret")
+                .build());
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                new AuthenticatedUser(user.getId(), user.getEmail()), null, List.of()));
+        when(statsService.contribution(any())).thenReturn(TodoStatsDelta.ZERO);
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    private Integer createTodo(String title) {
+        return todoService.createTodo(new CreateTodoRequest(title, "Description", null, Priority.MEDIUM));
+    }
+
+    @Test
+    void testFindByIdAndUser_ReadsTodosFromDatabase() {
+        Integer id = createTodo("Uncached");
+        todoService.findByIdAndUser(id);
+        todoRepository.findById(id);
+        long statements = statistics.getPrepareStatementCount();
+
+        VersionedTodoResponse response = todoService.findByIdAndUser(id);
+        todoRepository.findById(id);
+
+        assertEquals("Uncached", response.todo().title());
+        assertEquals(statements + 2, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getQueryCacheHitCount());
+        assertEquals(0, statistics.getSecondLevelCacheHitCount());
+    }
+
+    @Test
+    void testBulkStatements_KeepCachedUsers() {
+        userRepository.findById(user.getId());
+        Integer first = createTodo("Complete me");
+        Integer second = createTodo("Delete me");
+        statistics.clear();
+
+        todoService.updateTodoCompletionStatus(first, true);
+        todoService.deleteTodo(second);
+
+        assertEquals(user.getEmail(), userRepository.findById(user.getId()).orElseThrow().getEmail());
+        assertEquals(1, statistics.getDomainDataRegionStatistics(User.CACHE_REGION).getHitCount());
+    }
+
+    @Test
+    void testUpdateTodo_InvalidatesCachedReads() {
+        Integer id = createTodo("Before");
+        todoService.findByIdAndUser(id);
+        todoRepository.findByIdAndUserId(id, user.getId());
+
+        todoService.updateTodo(new UpdateTodoRequest(id, "After", null, null, null, null));
+
+        VersionedTodoResponse response = todoService.findByIdAndUser(id);
+        assertEquals("After", response.todo().title());
+        assertEquals(1L, response.version());
+        assertEquals("After", todoRepository.findByIdAndUserId(id, user.getId()).orElseThrow().getTitle());
+        assertEquals("After", todoRepository.findById(id).orElseThrow().getTitle());
+    }
+
+    @Test
+    void testUpdateTodoCompletionStatus_InvalidatesCachedReads() {
+        Integer id = createTodo("Complete me");
+        todoService.findByIdAndUser(id);
+        todoRepository.findById(id);
+
+        todoService.updateTodoCompletionStatus(id, true);
+
+        assertTrue(todoService.findByIdAndUser(id).todo().completed());
+        assertTrue(todoRepository.findById(id).orElseThrow().getCompleted());
+    }
+
+    @Test
+    void testBatchCompletion_InvalidatesCachedReads() {
+        Integer first = createTodo("First");
+        Integer second = createTodo("Second");
+        todoService.findByIdAndUser(first);
+        todoService.findByIdAndUser(second);
+
+        todoService.updateTodoCompletionStatuses(List.of(first, second), true);
+
+        assertTrue(todoService.findByIdAndUser(first).todo().completed());
+        assertTrue(todoService.findByIdAndUser(second).todo().completed());
+    }
+
+    @Test
+    void testDeleteTodo_EvictsCachedTodo() {
+        Integer id = createTodo("Delete me");
+        todoService.findByIdAndUser(id);
+        todoRepository.findById(id);
+
+        todoService.deleteTodo(id);
+
+        assertThrows(TodoNotFoundException.class, () -> todoService.findByIdAndUser(id));
+        assertTrue(todoRepository.findById(id).isEmpty());
+    }
+
+    @Test
+    void testDeleteTodos_EvictsCachedTodos() {
+        Integer first = createTodo("First");
+        Integer second = createTodo("Second");
+        todoService.findByIdAndUser(first);
+        todoRepository.findById(second);
+
+        todoService.deleteTodos(List.of(first, second));
+
+        assertThrows(TodoNotFoundException.class, () -> todoService.findByIdAndUser(first));
+        assertTrue(todoRepository.findById(second).isEmpty());
+    }
+
+    @Test
+    void testFindByEmail_ServedFromCacheAndRefreshedOnSave() {
+        userRepository.findByEmail(user.getEmail());
+        long statements = statistics.getPrepareStatementCount();
+
+        assertTrue(userRepository.findByEmail(user.getEmail()).isPresent());
+        assertEquals(statements, statistics.getPrepareStatementCount());
+
+        User stored = userRepository.findByEmail(user.getEmail()).orElseThrow();
+        stored.setPassword("rotated");
+        userRepository.save(stored);
+
+        assertEquals("rotated", userRepository.findByEmail(user.getEmail()).orElseThrow().getPassword());
+    }
+}
@@ -1,35 +1,65 @@
 package com.cedar.todoapp.services;
 
+import com.cedar.todoapp.dtos.BatchItemResult;
+import com.cedar.todoapp.dtos.BatchResponse;
 import com.cedar.todoapp.dtos.CreateTodoRequest;
 import com.cedar.todoapp.dtos.TodoResponse;
 import com.cedar.todoapp.dtos.UpdateTodoRequest;
+import com.cedar.todoapp.dtos.VersionedTodoResponse;
 import com.cedar.todoapp.exceptions.TodoNotFoundException;
+import com.cedar.todoapp.exceptions.TodoVersionMismatchException;
 import com.cedar.todoapp.exceptions.UserNotFoundException;
 import com.cedar.todoapp.mappers.TodoMapper;
+import com.cedar.todoapp.models.AuthenticatedUser;
+import com.cedar.todoapp.models.PendingCompletion;
 import com.cedar.todoapp.models.Priority;
 import com.cedar.todoapp.models.Todo;
+import com.cedar.todoapp.models.TodoField;
+import com.cedar.todoapp.models.TodoStatsDelta;
 import com.cedar.todoapp.models.User;
 import com.cedar.todoapp.repositories.TodoRepository;
 import com.cedar.todoapp.repositories.UserRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.transaction.PlatformTransactionManager;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 class TodoServiceTest {
@@ -43,6 +73,30 @@ class TodoServiceTest {
     @Mock
     private TodoMapper todoMapper;
 
+    @Mock
+    private TodoSearchIndex searchIndex;
+
+    @Mock
+    private TodoStatsService statsService;
+
+    @Mock
+    private TodoCollectionVersions collectionVersions;
+
+    @Mock
+    private TodoDueDateScheduler dueDateScheduler;
+
+    @Mock
+    private TodoCompletionQueue completionQueue;
+
+    @Mock
+    private Validator validator;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
     @Mock
     private UserDetails userDetails;
 
@@ -52,6 +106,7 @@ class TodoServiceTest {
     @InjectMocks
     private TodoService todoService;
 
+    private Authentication authentication;
     private User user;
     private Todo todo;
 
@@ -70,16 +125,19 @@ class TodoServiceTest {
                 .priority(Priority.HIGH)
                 .dueDate(LocalDateTime.now().plusDays(1))
                 .completed(false)
+                .version(3L)
                 .user(user)
                 .build();
 
-        Authentication authentication = mock(Authentication.class);
+        authentication = mock(Authentication.class);
         when(securityContext.getAuthentication()).thenReturn(authentication);
-        when(authentication.getPrincipal()).thenReturn(userDetails);
-        when(userDetails.getUsername()).thenReturn(user.getEmail());
+        when(authentication.getPrincipal()).thenReturn(new AuthenticatedUser(user.getId(), user.getEmail()));
         SecurityContextHolder.setContext(securityContext);
 
-        when(userRepository.findByEmail(user.getEmail())).thenReturn(Optional.of(user));
+        when(userRepository.getReferenceById(user.getId())).thenReturn(user);
+        when(searchIndex.isEnabled()).thenReturn(true);
+        when(statsService.contribution(any(Todo.class)))
+                .thenAnswer(invocation -> TodoStatsDelta.of(invocation.getArgument(0)));
     }
 
     @Test
@@ -95,140 +153,497 @@ class TodoServiceTest {
         assertEquals(todo.getId(), todoId);
         verify(todoRepository).save(todo);
         verify(todoRepository, times(1)).save(todo);
+        verify(searchIndex).index(user.getId(), todo.getId(), todo.getTitle(), todo.getDescription());
+        verify(statsService).record(user.getId(), new TodoStatsDelta(1, 0, 0, 0, 1));
+        verify(userRepository, never()).findByEmail(anyString());
+    }
+
+    @Test
+    void testCreateTodo_LoadedUserPrincipal() {
+        CreateTodoRequest request = new CreateTodoRequest("Title", "Description", LocalDateTime.now().plusDays(1), Priority.HIGH);
+
+        when(authentication.getPrincipal()).thenReturn(user);
+        when(todoMapper.toEntity(request)).thenReturn(todo);
+        when(todoRepository.save(todo)).thenReturn(todo);
+
+        assertEquals(todo.getId(), todoService.createTodo(request));
+        verify(userRepository, never()).findByEmail(anyString());
     }
 
     @Test
     void testCreateTodo_UserNotFound() {
         CreateTodoRequest request = new CreateTodoRequest("Title", "Description", LocalDateTime.now().plusDays(1), Priority.MEDIUM);
 
+        when(authentication.getPrincipal()).thenReturn(userDetails);
+        when(userDetails.getUsername()).thenReturn(user.getEmail());
         when(userRepository.findByEmail(anyString())).thenReturn(Optional.empty());
 
         assertThrows(UserNotFoundException.class, () -> todoService.createTodo(request));
     }
 
+    @Test
+    @SuppressWarnings("unchecked")
+    void testCreateTodos_ReportsPerItemResults() {
+        CreateTodoRequest valid = new CreateTodoRequest("Title", "Description", LocalDateTime.now().plusDays(1), Priority.HIGH);
+        CreateTodoRequest invalid = new CreateTodoRequest("", null, null, null);
+        ConstraintViolation<CreateTodoRequest> violation = mock(ConstraintViolation.class);
+        when(violation.getMessage()).thenReturn("Title is required");
+        when(validator.validate(invalid)).thenReturn(Set.of(violation));
+        when(todoMapper.toEntity(valid)).thenReturn(todo);
+
+        BatchResponse response = todoService.createTodos(Arrays.asList(valid, invalid, null));
+
+        assertEquals(1, response.succeeded());
+        assertEquals(2, response.failed());
+        assertEquals(new BatchItemResult(0, todo.getId(), 201, null), response.results().get(0));
+        assertEquals(new BatchItemResult(1, null, 400, "Title is required"), response.results().get(1));
+        assertEquals(400, response.results().get(2).status());
+        verify(todoRepository).saveAll(argThat(todos -> todos.iterator().next() == todo));
+        verify(searchIndex).index(user.getId(), todo.getId(), todo.getTitle(), todo.getDescription());
+    }
+
+    @Test
+    void testUpdateTodoCompletionStatuses() {
+        when(todoRepository.findByUserIdAndIdIn(user.getId(), List.of(todo.getId(), 999))).thenReturn(List.of(todo));
+
+        BatchResponse response = todoService.updateTodoCompletionStatuses(List.of(todo.getId(), 999), true);
+
+        assertTrue(todo.getCompleted());
+        assertEquals(1, response.succeeded());
+        assertEquals(404, response.results().get(1).status());
+        verify(statsService).record(user.getId(), new TodoStatsDelta(0, 1, 0, 0, 0));
+    }
+
+    @Test
+    void testDeleteTodos() {
+        when(todoRepository.findByUserIdAndIdIn(user.getId(), List.of(todo.getId(), 999))).thenReturn(List.of(todo));
+
+        BatchResponse response = todoService.deleteTodos(List.of(todo.getId(), 999));
+
+        assertEquals(1, response.succeeded());
+        assertEquals(1, response.failed());
+        verify(todoRepository).deleteAllInBatch(argThat(todos -> todos.iterator().next() == todo));
+        verify(searchIndex).remove(user.getId(), todo.getId());
+        verify(searchIndex, never()).remove(user.getId(), 999);
+        verify(statsService).record(user.getId(), new TodoStatsDelta(-1, 0, 0, 0, -1));
+    }
+
     @Test
     void testUpdateTodo() {
         UpdateTodoRequest request = new UpdateTodoRequest(1, "Updated Title", "Updated Description", LocalDateTime.now().plusDays(2), Priority.LOW, true);
-
-        when(todoRepository.findByIdAndUser(request.id(), user)).thenReturn(Optional.of(todo));
+        when(todoRepository.updateFields(request, user.getId(), null)).thenReturn(1);
 
         todoService.updateTodo(request);
 
-        assertEquals("Updated Title", todo.getTitle());
-        assertTrue(todo.getCompleted());
+        var inOrder = inOrder(statsService, todoRepository);
+        inOrder.verify(statsService).removeContribution(user.getId(), request.id());
+        inOrder.verify(todoRepository).updateFields(request, user.getId(), null);
+        inOrder.verify(statsService).addContribution(user.getId(), request.id());
+        verify(searchIndex).update(user.getId(), request.id(), "Updated Title", "Updated Description");
+        verify(dueDateScheduler).cancel(request.id());
+        verify(todoRepository, never()).findByIdAndUserId(anyInt(), anyInt());
+        verify(todoRepository, never()).save(any());
+    }
 
-        verify(todoRepository).save(todo);
-        verify(todoRepository, times(1)).save(todo);
+    @Test
+    void testUpdateTodo_BumpsCollectionVersion() {
+        UpdateTodoRequest request = new UpdateTodoRequest(1, "Updated Title", null, null, null, null);
+        when(todoRepository.updateFields(request, user.getId(), Set.of(3L))).thenReturn(1);
+
+        todoService.updateTodo(request, Set.of(3L));
+
+        verify(collectionVersions).bump(user.getId());
+        verify(searchIndex).update(user.getId(), request.id(), "Updated Title", null);
+        verifyNoInteractions(statsService, dueDateScheduler);
+    }
+
+    @Test
+    void testUpdateTodo_VersionMismatch() {
+        UpdateTodoRequest request = new UpdateTodoRequest(1, "Updated Title", null, null, null, null);
+        when(todoRepository.existsByIdAndUserId(request.id(), user.getId())).thenReturn(true);
+
+        assertThrows(TodoVersionMismatchException.class, () -> todoService.updateTodo(request, Set.of(2L)));
+        verify(collectionVersions, never()).bump(anyInt());
+        verifyNoInteractions(searchIndex);
     }
 
     @Test
     void testUpdateTodo_NotFound() {
         UpdateTodoRequest request = new UpdateTodoRequest(999, "Title", null, null, null, null);
 
-        when(todoRepository.findByIdAndUser(request.id(), user)).thenReturn(Optional.empty());
-
         assertThrows(TodoNotFoundException.class, () -> todoService.updateTodo(request));
+        assertThrows(TodoNotFoundException.class, () -> todoService.updateTodo(request, Set.of(1L)));
     }
 
     @Test
     void testDeleteTodo() {
-        when(todoRepository.findByIdAndUser(todo.getId(), user)).thenReturn(Optional.of(todo));
+        when(todoRepository.deleteByIdAndUserId(todo.getId(), user.getId())).thenReturn(1);
 
         todoService.deleteTodo(todo.getId());
 
-        verify(todoRepository).delete(todo);
-        verify(todoRepository, times(1)).delete(todo);
+        var inOrder = inOrder(statsService, todoRepository);
+        inOrder.verify(statsService).removeContribution(user.getId(), todo.getId());
+        inOrder.verify(todoRepository).deleteByIdAndUserId(todo.getId(), user.getId());
+        verify(todoRepository, never()).delete(any(Todo.class));
+        verify(collectionVersions).bump(user.getId());
+        verify(searchIndex).remove(user.getId(), todo.getId());
     }
 
     @Test
     void testDeleteTodo_NotFound() {
-        when(todoRepository.findByIdAndUser(999, user)).thenReturn(Optional.empty());
-
         assertThrows(TodoNotFoundException.class, () -> todoService.deleteTodo(999));
+        verifyNoInteractions(searchIndex, collectionVersions);
     }
 
     @Test
     void testFindByIdAndUser() {
-        when(todoRepository.findByIdAndUser(todo.getId(), user)).thenReturn(Optional.of(todo));
-        when(todoMapper.toResponse(todo)).thenReturn(
-                new TodoResponse(
-                        todo.getId(),
-                        todo.getTitle(),
-                        todo.getDescription(),
-                        todo.getDueDate(),
-                        todo.getPriority(),
-                        todo.getCompleted())
-        );
-
-        TodoResponse response = todoService.findByIdAndUser(todo.getId());
+        when(todoRepository.findResponseByIdAndUserId(todo.getId(), user.getId())).thenReturn(Optional.of(
+                new VersionedTodoResponse(todo.getId(), todo.getTitle(), todo.getDescription(), todo.getDueDate(),
+                        todo.getPriority(), todo.getCompleted(), todo.getVersion())));
+
+        VersionedTodoResponse response = todoService.findByIdAndUser(todo.getId());
 
         assertNotNull(response);
-        assertEquals(todo.getId(), response.id());
+        assertEquals(todo.getId(), response.todo().id());
+        assertEquals(3L, response.version());
+        verify(todoRepository, never()).findByIdAndUserId(anyInt(), anyInt());
+        verifyNoInteractions(todoMapper);
     }
 
     @Test
     void testFindByIdAndUser_NotFound() {
-        when(todoRepository.findByIdAndUser(999, user)).thenReturn(Optional.empty());
+        when(todoRepository.findResponseByIdAndUserId(999, user.getId())).thenReturn(Optional.empty());
 
         assertThrows(TodoNotFoundException.class, () -> todoService.findByIdAndUser(999));
     }
 
     @Test
     void testFindAllTodos() {
-        Page<Todo> todosPage = new PageImpl<>(List.of(todo));
-        when(todoRepository.findByUser(user, Pageable.unpaged())).thenReturn(todosPage);
-        when(todoMapper.toResponse(todo)).thenReturn(
-                new TodoResponse(todo.getId(),
-                        todo.getTitle(),
-                        todo.getDescription(),
-                        todo.getDueDate(),
-                        todo.getPriority(),
-                        todo.getCompleted())
-        );
+        Page<TodoResponse> todosPage = new PageImpl<>(List.of(new TodoResponse(todo.getId(), todo.getTitle(), todo.getDescription(), todo.getDueDate(), todo.getPriority(), todo.getCompleted())));
+        when(todoRepository.findByUserId(user.getId(), Pageable.unpaged(), TodoResponse.class)).thenReturn(todosPage);
 
         Page<TodoResponse> responsePage = todoService.findAllTodos(Pageable.unpaged());
 
         assertEquals(1, responsePage.getTotalElements());
     }
 
+    @Test
+    void testFindAllTodos_WithoutTotal() {
+        Pageable pageable = PageRequest.of(0, 1);
+        Slice<TodoResponse> todosSlice = new SliceImpl<>(List.of(new TodoResponse(todo.getId(), todo.getTitle(), null, null, null, false)), pageable, true);
+        when(todoRepository.findSliceByUserId(user.getId(), pageable, TodoResponse.class)).thenReturn(todosSlice);
+
+        Slice<TodoResponse> responseSlice = todoService.findAllTodos(pageable, null, false);
+
+        assertFalse(responseSlice instanceof Page);
+        assertTrue(responseSlice.hasNext());
+        verify(todoRepository, never()).findByUserId(anyInt(), any(Pageable.class), any());
+    }
+
+    @Test
+    void testFindAllTodos_Keyset() {
+        ScrollPosition position = ScrollPosition.keyset();
+        Window<TodoResponse> todosWindow = Window.from(List.of(new TodoResponse(todo.getId(),
+                todo.getTitle(),
+                todo.getDescription(),
+                todo.getDueDate(),
+                todo.getPriority(),
+                todo.getCompleted())), ScrollPosition::offset);
+        when(todoRepository.findFieldsByUserId(user.getId(), null, null, EnumSet.allOf(TodoField.class), position, Limit.of(10), Sort.by("id")))
+                .thenReturn(todosWindow);
+
+        Window<TodoResponse> responseWindow = todoService.findAllTodos(position, Limit.of(10), Sort.by("id"));
+
+        assertEquals(1, responseWindow.size());
+        assertEquals(todo.getId(), responseWindow.getContent().get(0).id());
+        verify(todoRepository, never()).findByUserId(anyInt(), any(Pageable.class), any());
+    }
+
+    @Test
+    void testFindAllTodos_WithFields() {
+        Set<TodoField> fields = EnumSet.of(TodoField.TITLE);
+        Page<TodoResponse> todosPage = new PageImpl<>(List.of(new TodoResponse(todo.getId(), todo.getTitle(), null, null, null, false)));
+        when(todoRepository.findFieldsByUserId(user.getId(), null, null, fields, Pageable.unpaged())).thenReturn(todosPage);
+
+        Page<TodoResponse> responsePage = todoService.findAllTodos(Pageable.unpaged(), fields);
+
+        assertEquals(todosPage, responsePage);
+        verify(todoRepository, never()).findByUserId(anyInt(), any(Pageable.class), any());
+    }
+
+    @Test
+    void testFindByIdAndUser_WithFields() {
+        Set<TodoField> fields = EnumSet.of(TodoField.COMPLETED);
+        when(todoRepository.findFieldsByIdAndUserId(todo.getId(), user.getId(), fields)).thenReturn(Optional.of(
+                new VersionedTodoResponse(new TodoResponse(todo.getId(), null, null, null, null, false), 3L)));
+
+        VersionedTodoResponse response = todoService.findByIdAndUser(todo.getId(), fields);
+
+        assertEquals(3L, response.version());
+        verify(todoRepository, never()).findResponseByIdAndUserId(anyInt(), anyInt());
+    }
+
+    @Test
+    void testSearchTodos_RelevanceOrderWithFields() {
+        Set<TodoField> fields = EnumSet.of(TodoField.TITLE);
+        when(searchIndex.search(user.getId(), "Title")).thenReturn(List.of(2, 1));
+        when(todoRepository.findFieldsByUserIdAndIdIn(user.getId(), List.of(2, 1), fields)).thenReturn(List.of(
+                new TodoResponse(1, "First", null, null, null, false),
+                new TodoResponse(2, "Second", null, null, null, false)));
+
+        Page<TodoResponse> responsePage = todoService.searchTodos("Title", PageRequest.of(0, 10, Sort.by(TodoService.RELEVANCE_SORT)), fields);
+
+        assertEquals(List.of(2, 1), responsePage.getContent().stream().map(TodoResponse::id).toList());
+    }
+
     @Test
     void testSearchTodos() {
-        Page<Todo> todosPage = new PageImpl<>(List.of(todo));
-        when(todoRepository.findByUserAndTitleContainingIgnoreCaseOrDescriptionContainingIgnoreCase(
-                user, "Title", "Title", Pageable.unpaged())).thenReturn(todosPage);
-        when(todoMapper.toResponse(todo)).thenReturn(
-                new TodoResponse(
-                        todo.getId(),
-                        todo.getTitle(),
-                        todo.getDescription(),
-                        todo.getDueDate(),
-                        todo.getPriority(),
-                        todo.getCompleted())
-        );
+        when(searchIndex.search(user.getId(), "Title")).thenReturn(List.of(todo.getId()));
+        when(todoRepository.findByUserIdAndIdIn(user.getId(), List.of(todo.getId()), TodoResponse.class)).thenReturn(List.of(new TodoResponse(todo.getId(), todo.getTitle(), todo.getDescription(), todo.getDueDate(), todo.getPriority(), todo.getCompleted())));
 
         Page<TodoResponse> responsePage = todoService.searchTodos("Title", Pageable.unpaged());
 
         assertEquals(1, responsePage.getTotalElements());
     }
 
+    @Test
+    void testSearchTodos_RelevanceOrderAcrossPages() {
+        when(searchIndex.search(user.getId(), "Title")).thenReturn(List.of(2, 1));
+        when(todoRepository.findByUserIdAndIdIn(user.getId(), List.of(1), TodoResponse.class)).thenReturn(List.of(new TodoResponse(todo.getId(), todo.getTitle(), todo.getDescription(), todo.getDueDate(), todo.getPriority(), todo.getCompleted())));
+
+        Page<TodoResponse> responsePage = todoService.searchTodos("Title", PageRequest.of(1, 1, Sort.by(TodoService.RELEVANCE_SORT)));
+
+        assertEquals(2, responsePage.getTotalElements());
+        assertEquals(1, responsePage.getContent().size());
+        assertEquals(todo.getId(), responsePage.getContent().get(0).id());
+    }
+
+    @Test
+    void testSearchTodos_RelevanceOrderWithoutTotal() {
+        when(searchIndex.search(user.getId(), "Title")).thenReturn(List.of(2, 1));
+        when(todoRepository.findByUserIdAndIdIn(user.getId(), List.of(2), TodoResponse.class)).thenReturn(List.of(new TodoResponse(2, "Second", null, null, null, false)));
+
+        Slice<TodoResponse> first = todoService.searchTodos("Title", PageRequest.of(0, 1, Sort.by(TodoService.RELEVANCE_SORT)), null, false);
+
+        assertFalse(first instanceof Page);
+        assertEquals(2, first.getContent().get(0).id());
+        assertTrue(first.hasNext());
+    }
+
+    @Test
+    void testSearchTodos_SortedWithoutTotal() {
+        Set<TodoField> fields = EnumSet.of(TodoField.TITLE);
+        Pageable pageable = PageRequest.of(0, 10, Sort.by("title"));
+        when(searchIndex.search(user.getId(), "Title")).thenReturn(List.of(2, 1));
+        when(todoRepository.findFieldsSliceByUserId(user.getId(), null, List.of(2, 1), fields, pageable))
+                .thenReturn(new SliceImpl<>(List.of(new TodoResponse(1, "First", null, null, null, false)), pageable, false));
+
+        Slice<TodoResponse> responseSlice = todoService.searchTodos("Title", pageable, fields, false);
+
+        assertTrue(responseSlice.isLast());
+        verify(todoRepository, never()).findFieldsByUserId(anyInt(), any(), any(), any(), any(Pageable.class));
+    }
+
+    @Test
+    void testSearchTodos_NoHits() {
+        when(searchIndex.search(user.getId(), "missing")).thenReturn(List.of());
+
+        Page<TodoResponse> responsePage = todoService.searchTodos("missing", Pageable.unpaged());
+
+        assertTrue(responsePage.isEmpty());
+        verifyNoInteractions(todoRepository);
+    }
+
+    @Test
+    void testSearchTodos_SubstringWhenIndexDisabled() {
+        when(searchIndex.isEnabled()).thenReturn(false);
+        Pageable byId = PageRequest.of(0, 10, Sort.by("id"));
+        when(todoRepository.searchFieldsByUserId(user.getId(), "itl", EnumSet.allOf(TodoField.class), byId))
+                .thenReturn(new PageImpl<>(List.of(new TodoResponse(todo.getId(), todo.getTitle(), null, null, null, false)), byId, 1));
+
+        Page<TodoResponse> responsePage = todoService.searchTodos("itl", PageRequest.of(0, 10, Sort.by(TodoService.RELEVANCE_SORT)));
+
+        assertEquals(1, responsePage.getTotalElements());
+        verify(searchIndex, never()).search(anyInt(), anyString());
+    }
+
+    @Test
+    void testSearchTodos_EmptyKeywordReturnsAllTodos() {
+        Set<TodoField> fields = EnumSet.of(TodoField.TITLE);
+        Pageable pageable = PageRequest.of(0, 10, Sort.by("title"));
+        when(todoRepository.searchFieldsSliceByUserId(user.getId(), "", fields, pageable))
+                .thenReturn(new SliceImpl<>(List.of(new TodoResponse(todo.getId(), todo.getTitle(), null, null, null, false)), pageable, false));
+
+        Slice<TodoResponse> responseSlice = todoService.searchTodos("", pageable, fields, false);
+
+        assertEquals(1, responseSlice.getNumberOfElements());
+        verify(searchIndex, never()).search(anyInt(), anyString());
+    }
+
+    @Test
+    void testExportTodos() {
+        TodoResponse response = new TodoResponse(todo.getId(), todo.getTitle(), todo.getDescription(), todo.getDueDate(), todo.getPriority(), todo.getCompleted());
+        when(todoRepository.streamByUserIdOrderById(user.getId())).thenReturn(Stream.of(todo));
+        when(todoMapper.toResponse(todo)).thenReturn(response);
+        List<TodoResponse> exported = new ArrayList<>();
+
+        todoService.exportTodos(exported::add);
+
+        assertEquals(List.of(response), exported);
+        verify(entityManager).detach(todo);
+    }
+
     @Test
     void testUpdateTodoCompletionStatus() {
-        when(todoRepository.findByIdAndUser(todo.getId(), user)).thenReturn(Optional.of(todo));
+        when(todoRepository.updateCompleted(todo.getId(), user.getId(), true)).thenReturn(1);
 
         todoService.updateTodoCompletionStatus(todo.getId(), true);
 
-        verify(todoRepository).save(todo);
-        assertTrue(todo.getCompleted());
+        verify(statsService).recordCompletion(user.getId(), todo.getId(), true);
+        verify(collectionVersions).bump(user.getId());
+        verify(dueDateScheduler).cancel(todo.getId());
+        verify(todoRepository, never()).findByIdAndUserId(anyInt(), anyInt());
+        verify(todoRepository, never()).existsByIdAndUserId(anyInt(), anyInt());
+    }
+
+    @Test
+    void testUpdateTodoCompletionStatus_ReopenReloadsDueDate() {
+        when(todoRepository.updateCompleted(todo.getId(), user.getId(), false)).thenReturn(1);
+
+        todoService.updateTodoCompletionStatus(todo.getId(), false);
+
+        verify(statsService).recordCompletion(user.getId(), todo.getId(), false);
+        verify(dueDateScheduler).reload(todo.getId());
+    }
+
+    @Test
+    void testUpdateTodoCompletionStatus_Unchanged() {
+        when(todoRepository.existsByIdAndUserId(todo.getId(), user.getId())).thenReturn(true);
+
+        todoService.updateTodoCompletionStatus(todo.getId(), false);
+
+        verifyNoInteractions(statsService, collectionVersions, dueDateScheduler);
+    }
+
+    @Test
+    void testUpdateTodoCompletionStatus_NotFound() {
+        assertThrows(TodoNotFoundException.class, () -> todoService.updateTodoCompletionStatus(999, true));
+        verifyNoInteractions(statsService, collectionVersions);
+    }
+
+    @Test
+    void testDeleteTodo_CancelsDueDate() {
+        when(todoRepository.deleteByIdAndUserId(todo.getId(), user.getId())).thenReturn(1);
+
+        todoService.deleteTodo(todo.getId());
+
+        verify(dueDateScheduler).cancel(todo.getId());
+    }
+
+    @Test
+    void testFindUpcomingTodos() {
+        Page<TodoResponse> todosPage = new PageImpl<>(List.of(new TodoResponse(todo.getId(), todo.getTitle(), todo.getDescription(), todo.getDueDate(), todo.getPriority(), todo.getCompleted())));
+        when(todoRepository.findByUserIdAndCompletedFalseAndDueDateAfterAndDueDateLessThanEqual(
+                eq(user.getId()), any(), any(), eq(Pageable.unpaged()), eq(TodoResponse.class))).thenReturn(todosPage);
+
+        Page<TodoResponse> responsePage = todoService.findUpcomingTodos(Duration.ofDays(2), Pageable.unpaged());
+
+        assertEquals(todosPage, responsePage);
+        verify(todoRepository).findByUserIdAndCompletedFalseAndDueDateAfterAndDueDateLessThanEqual(
+                eq(user.getId()),
+                argThat(from -> !from.isAfter(LocalDateTime.now())),
+                argThat(to -> to.isAfter(LocalDateTime.now().plusDays(1))),
+                eq(Pageable.unpaged()),
+                eq(TodoResponse.class));
     }
 
     @Test
     void testFindTodosByCompletionStatus() {
-        Page<Todo> todosPage = new PageImpl<>(List.of(todo));
-        when(todoRepository.findByUserAndCompleted(user, false, Pageable.unpaged())).thenReturn(todosPage);
-        when(todoMapper.toResponse(todo)).thenReturn(new TodoResponse(todo.getId(), todo.getTitle(), todo.getDescription(), todo.getDueDate(), todo.getPriority(), todo.getCompleted()));
+        Page<TodoResponse> todosPage = new PageImpl<>(List.of(new TodoResponse(todo.getId(), todo.getTitle(), todo.getDescription(), todo.getDueDate(), todo.getPriority(), todo.getCompleted())));
+        when(todoRepository.findByUserIdAndCompleted(user.getId(), false, Pageable.unpaged(), TodoResponse.class)).thenReturn(todosPage);
 
         Page<TodoResponse> responsePage = todoService.findTodosByCompletionStatus(false, Pageable.unpaged());
 
         assertEquals(1, responsePage.getTotalElements());
     }
-}
\ No newline at end of file
+
+    @Test
+    void testUpdateTodoCompletionStatus_WriteBehindQueuesToggle() {
+        when(completionQueue.isEnabled()).thenReturn(true);
+        when(todoRepository.existsByIdAndUserId(todo.getId(), user.getId())).thenReturn(true);
+
+        todoService.updateTodoCompletionStatus(todo.getId(), true);
+
+        verify(completionQueue).enqueue(user.getId(), todo.getId(), true);
+        verify(collectionVersions).bump(user.getId());
+        verify(todoRepository, never()).findByIdAndUserId(anyInt(), anyInt());
+        verify(todoRepository, never()).save(any(Todo.class));
+        verifyNoInteractions(statsService, dueDateScheduler);
+    }
+
+    @Test
+    void testUpdateTodoCompletionStatus_WriteBehindNotFound() {
+        when(completionQueue.isEnabled()).thenReturn(true);
+
+        assertThrows(TodoNotFoundException.class, () -> todoService.updateTodoCompletionStatus(99, true));
+        verify(completionQueue, never()).enqueue(anyInt(), anyInt(), anyBoolean());
+    }
+
+    @Test
+    void testFindByIdAndUser_ReturnsPendingCompletion() {
+        when(todoRepository.findResponseByIdAndUserId(todo.getId(), user.getId())).thenReturn(Optional.of(
+                new VersionedTodoResponse(todo.getId(), todo.getTitle(), todo.getDescription(), todo.getDueDate(),
+                        todo.getPriority(), false, todo.getVersion())));
+        when(completionQueue.findPending(todo.getId())).thenReturn(Optional.of(new PendingCompletion(todo.getId(), user.getId(), true)));
+
+        VersionedTodoResponse response = todoService.findByIdAndUser(todo.getId());
+
+        assertTrue(response.todo().completed());
+        assertEquals(todo.getTitle(), response.todo().title());
+    }
+
+    @Test
+    void testFindTodosByCompletionStatus_WithoutTotal() {
+        Pageable pageable = PageRequest.of(0, 10);
+        when(completionQueue.isEnabled()).thenReturn(true);
+        when(completionQueue.hasPending(user.getId())).thenReturn(true);
+        when(todoRepository.findSliceByUserIdAndCompleted(user.getId(), true, pageable, TodoResponse.class))
+                .thenReturn(new SliceImpl<>(List.of(), pageable, false));
+
+        Slice<TodoResponse> responseSlice = todoService.findTodosByCompletionStatus(true, pageable, null, false);
+
+        assertFalse(responseSlice.hasNext());
+        verify(completionQueue).flush(user.getId());
+        verify(todoRepository, never()).findByUserIdAndCompleted(anyInt(), anyBoolean(), any(Pageable.class), any());
+    }
+
+    @Test
+    void testFindTodosByCompletionStatus_FlushesPendingCompletionsFirst() {
+        when(completionQueue.isEnabled()).thenReturn(true);
+        when(completionQueue.hasPending(user.getId())).thenReturn(true);
+        when(todoRepository.findByUserIdAndCompleted(user.getId(), true, Pageable.unpaged(), TodoResponse.class)).thenReturn(Page.empty());
+
+        todoService.findTodosByCompletionStatus(true, Pageable.unpaged());
+
+        var inOrder = inOrder(completionQueue, todoRepository);
+        inOrder.verify(completionQueue).flush(user.getId());
+        inOrder.verify(todoRepository).findByUserIdAndCompleted(user.getId(), true, Pageable.unpaged(), TodoResponse.class);
+    }
+
+    @Test
+    void testFindTodosByCompletionStatus_SkipsFlushWhenNothingIsPending() {
+        when(completionQueue.isEnabled()).thenReturn(true);
+        when(todoRepository.findByUserIdAndCompleted(user.getId(), true, Pageable.unpaged(), TodoResponse.class)).thenReturn(Page.empty());
+
+        todoService.findTodosByCompletionStatus(true, Pageable.unpaged());
+
+        verify(completionQueue, never()).flush(anyInt());
+
+        when(completionQueue.isEnabled()).thenReturn(false);
+        when(completionQueue.hasPending(user.getId())).thenReturn(true);
+
+        todoService.findTodosByCompletionStatus(true, Pageable.unpaged());
+
+        verify(completionQueue, never()).flush(anyInt());
+    }
+}
@@ -0,0 +1,133 @@
+package com.cedar.todoapp.services;
+
+import com.cedar.todoapp.EmbeddedMariaDb;
+import com.cedar.todoapp.dtos.UpdateTodoRequest;
+import com.cedar.todoapp.mappers.TodoMapper;
+import com.cedar.todoapp.models.AuthenticatedUser;
+import com.cedar.todoapp.models.User;
+import com.cedar.todoapp.repositories.TodoRepository;
+import com.cedar.todoapp.repositories.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.validation.beanvalidation.LocalValidatorFactoryBean;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = {
+        "spring.jpa.show-sql=false",
+        "spring.datasource.hikari.maximum-pool-size=1",
+        "spring.datasource.hikari.connection-timeout=1000",
+        "todo.completion.write-behind.enabled=true",
+        "todo.completion.write-behind.flush-interval-ms=600000"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({TodoService.class, TodoCompletionQueue.class, TodoMapper.class, TodoCollectionVersions.class, TodoStatsService.class,
+        LocalValidatorFactoryBean.class, TodoServiceWriteBehindPoolTest.Metrics.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class TodoServiceWriteBehindPoolTest {
+
+    private static final String INSERT_TODO = "insert into todo (id, user_id, title, priority, completed) values (?, ?, ?, 'LOW', false)";
+    private static final AtomicInteger MANUAL_IDS = new AtomicInteger(1_000_000);
+
+    @TestConfiguration
+    static class Metrics {
+
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+
+    @Autowired
+    private TodoService todoService;
+
+    @Autowired
+    private TodoCompletionQueue completionQueue;
+
+    @Autowired
+    private TodoRepository todoRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @MockBean
+    private TodoSearchIndex searchIndex;
+
+    @MockBean
+    private TodoDueDateScheduler dueDateScheduler;
+
+    private User user;
+    private Integer id;
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        EmbeddedMariaDb.registerDataSource(registry, "todo_write_behind");
+    }
+
+    @BeforeEach
+    void setUp() {
+        user = userRepository.save(User.builder()
+                .fullName("Write Behind User")
+                .email(UUID.randomUUID() + "@example.com")
+                .password("secret")
+                .build());
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                new AuthenticatedUser(user.getId(), user.getEmail()), null, List.of()));
+        // Inserted directly: the table id generator allocates on a separate connection of its own.
+        id = MANUAL_IDS.incrementAndGet();
+        jdbcTemplate.update(INSERT_TODO, id, user.getId(), "Queued");
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void testReads_FlushWithASingleConnection() {
+        todoService.updateTodoCompletionStatus(id, true);
+        assertTrue(completionQueue.hasPending(user.getId()));
+
+        assertEquals(1, todoService.findTodosByCompletionStatus(true, Pageable.unpaged()).getTotalElements());
+        assertFalse(completionQueue.hasPending(user.getId()));
+
+        todoService.updateTodoCompletionStatus(id, false);
+        assertEquals(0, todoService.getTodoStats().completed());
+        assertFalse(completionQueue.hasPending(user.getId()));
+    }
+
+    @Test
+    void testWrites_FlushInsideTheirTransaction() {
+        todoService.updateTodoCompletionStatus(id, true);
+
+        todoService.updateTodo(new UpdateTodoRequest(id, "Renamed", null, null, null, null));
+
+        assertFalse(completionQueue.hasPending(user.getId()));
+        assertTrue(todoRepository.findById(id).orElseThrow().getCompleted());
+    }
+}
@@ -0,0 +1,179 @@
+package com.cedar.todoapp.services;
+
+import com.cedar.todoapp.EmbeddedMariaDb;
+import com.cedar.todoapp.dtos.CreateTodoRequest;
+import com.cedar.todoapp.dtos.TodoStatsResponse;
+import com.cedar.todoapp.dtos.UpdateTodoRequest;
+import com.cedar.todoapp.exceptions.TodoNotFoundException;
+import com.cedar.todoapp.exceptions.TodoVersionMismatchException;
+import com.cedar.todoapp.mappers.TodoMapper;
+import com.cedar.todoapp.models.AuthenticatedUser;
+import com.cedar.todoapp.models.Priority;
+import com.cedar.todoapp.models.User;
+import com.cedar.todoapp.repositories.TodoRepository;
+import com.cedar.todoapp.repositories.UserRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.validation.beanvalidation.LocalValidatorFactoryBean;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = {"spring.jpa.show-sql=false", "spring.jpa.properties.hibernate.generate_statistics=true"})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({TodoService.class, TodoMapper.class, TodoCollectionVersions.class, TodoStatsService.class, LocalValidatorFactoryBean.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class TodoServiceWriteStatementsTest {
+
+    @Autowired
+    private TodoService todoService;
+
+    @Autowired
+    private TodoStatsService statsService;
+
+    @Autowired
+    private TodoRepository todoRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @MockBean
+    private TodoSearchIndex searchIndex;
+
+    @MockBean
+    private TodoDueDateScheduler dueDateScheduler;
+
+    @MockBean
+    private TodoCompletionQueue completionQueue;
+
+    private Statistics statistics;
+    private User user;
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        EmbeddedMariaDb.registerDataSource(registry, "todo_writes");
+    }
+
+    @BeforeEach
+    void setUp() {
+        user = userRepository.save(User.builder()
+                .fullName("Write User")
+                .email(UUID.randomUUID() + "@example.com")
+                .password("secret")
+                .build());
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                new AuthenticatedUser(user.getId(), user.getEmail()), null, List.of()));
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    private Integer createTodo(String title, LocalDateTime dueDate, Priority priority) {
+        Integer id = todoService.createTodo(new CreateTodoRequest(title, "Description", dueDate, priority));
+        statistics.clear();
+        return id;
+    }
+
+    @Test
+    void testUpdateTodoCompletionStatus_UsesTwoStatements() {
+        Integer id = createTodo("Toggle", LocalDateTime.now().minusDays(1), Priority.HIGH);
+
+        todoService.updateTodoCompletionStatus(id, true);
+
+        assertEquals(2, statistics.getPrepareStatementCount());
+        assertTrue(todoRepository.findById(id).orElseThrow().getCompleted());
+        TodoStatsResponse stats = statsService.getStats(user.getId());
+        assertEquals(1, stats.completed());
+        assertEquals(0, stats.overdue());
+    }
+
+    @Test
+    void testUpdateTodoCompletionStatus_UnchangedOnlyChecksExistence() {
+        Integer id = createTodo("Open", null, Priority.LOW);
+
+        todoService.updateTodoCompletionStatus(id, false);
+
+        assertEquals(2, statistics.getPrepareStatementCount());
+        assertEquals(0, statsService.getStats(user.getId()).completed());
+        assertThrows(TodoNotFoundException.class, () -> todoService.updateTodoCompletionStatus(-1, true));
+    }
+
+    @Test
+    void testUpdateTodo_TitleOnlyUsesOneStatement() {
+        Integer id = createTodo("Before", null, Priority.LOW);
+
+        todoService.updateTodo(new UpdateTodoRequest(id, "After", null, null, null, null));
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals("After", todoRepository.findById(id).orElseThrow().getTitle());
+    }
+
+    @Test
+    void testUpdateTodo_MovesStatsContribution() {
+        Integer id = createTodo("Reprioritise", null, Priority.LOW);
+
+        todoService.updateTodo(new UpdateTodoRequest(id, null, null, LocalDateTime.now().minusDays(1), Priority.HIGH, null));
+
+        assertEquals(3, statistics.getPrepareStatementCount());
+        TodoStatsResponse stats = statsService.getStats(user.getId());
+        assertEquals(1, stats.total());
+        assertEquals(1, stats.overdue());
+        assertEquals(0, stats.byPriority().get(Priority.LOW));
+        assertEquals(1, stats.byPriority().get(Priority.HIGH));
+    }
+
+    @Test
+    void testUpdateTodo_VersionMismatchAndNotFound() {
+        Integer id = createTodo("Versioned", null, Priority.MEDIUM);
+
+        assertThrows(TodoVersionMismatchException.class,
+                () -> todoService.updateTodo(new UpdateTodoRequest(id, null, null, null, Priority.HIGH, null), Set.of(7L)));
+        assertThrows(TodoNotFoundException.class,
+                () -> todoService.updateTodo(new UpdateTodoRequest(-1, "Missing", null, null, null, null)));
+
+        assertEquals(0L, todoRepository.findById(id).orElseThrow().getVersion());
+        assertEquals(1, statsService.getStats(user.getId()).byPriority().get(Priority.MEDIUM));
+    }
+
+    @Test
+    void testDeleteTodo_UsesTwoStatements() {
+        Integer kept = createTodo("Keep", null, Priority.LOW);
+        Integer deleted = createTodo("Delete", null, Priority.HIGH);
+
+        todoService.deleteTodo(deleted);
+
+        assertEquals(2, statistics.getPrepareStatementCount());
+        assertTrue(todoRepository.findById(deleted).isEmpty());
+        assertTrue(todoRepository.findById(kept).isPresent());
+        TodoStatsResponse stats = statsService.getStats(user.getId());
+        assertEquals(1, stats.total());
+        assertEquals(0, stats.byPriority().get(Priority.HIGH));
+        assertThrows(TodoNotFoundException.class, () -> todoService.deleteTodo(deleted));
+    }
+}
@@ -0,0 +1,156 @@
+package com.cedar.todoapp.services;
+
+import com.cedar.todoapp.dtos.TodoStatsResponse;
+import com.cedar.todoapp.models.Priority;
+import com.cedar.todoapp.models.Todo;
+import com.cedar.todoapp.models.TodoStats;
+import com.cedar.todoapp.models.TodoStatsDelta;
+import com.cedar.todoapp.models.UserTodoStats;
+import com.cedar.todoapp.repositories.TodoRepository;
+import com.cedar.todoapp.repositories.TodoStatsRepository;
+import com.cedar.todoapp.repositories.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class TodoStatsServiceTest {
+
+    @Mock
+    private TodoStatsRepository repository;
+
+    @Mock
+    private TodoRepository todoRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @InjectMocks
+    private TodoStatsService statsService;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        ReflectionTestUtils.setField(statsService, "reconcileBatchSize", 2);
+
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.getArgument(0, TransactionCallback.class).doInTransaction(null));
+        doAnswer(invocation -> {
+            invocation.getArgument(0, Consumer.class).accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+        when(repository.save(any(TodoStats.class))).thenAnswer(invocation -> invocation.getArgument(0));
+    }
+
+    @Test
+    void testContribution_CountsCompletionAndPriority() {
+        Todo open = Todo.builder().priority(Priority.LOW).completed(false).dueDate(LocalDateTime.now().minusDays(1)).build();
+        Todo done = Todo.builder().priority(Priority.HIGH).completed(true).dueDate(LocalDateTime.now().minusDays(1)).build();
+        Todo upcoming = Todo.builder().priority(Priority.MEDIUM).completed(false).dueDate(LocalDateTime.now().plusDays(1)).build();
+
+        assertEquals(new TodoStatsDelta(1, 0, 1, 0, 0), statsService.contribution(open));
+        assertEquals(new TodoStatsDelta(1, 1, 0, 0, 1), statsService.contribution(done));
+        assertEquals(new TodoStatsDelta(1, 0, 0, 1, 0), statsService.contribution(upcoming));
+    }
+
+    @Test
+    void testRecord_IncrementsExistingCounters() {
+        TodoStatsDelta delta = new TodoStatsDelta(1, 0, 1, 0, 0);
+        when(repository.increment(1, delta)).thenReturn(1);
+
+        statsService.record(1, delta);
+
+        verify(repository).increment(1, delta);
+        verify(todoRepository, never()).countStatsByUserId(any());
+    }
+
+    @Test
+    void testRecord_SkipsZeroDelta() {
+        statsService.record(1, TodoStatsDelta.ZERO);
+
+        verifyNoInteractions(repository);
+    }
+
+    @Test
+    void testRecord_RebuildsMissingCountersFromBaseTable() {
+        TodoStatsDelta delta = new TodoStatsDelta(1, 0, 0, 0, 1);
+        when(repository.increment(1, delta)).thenReturn(0);
+        when(repository.findForUpdateByUserId(1)).thenReturn(Optional.empty());
+        when(todoRepository.countStatsByUserId(1)).thenReturn(new TodoStatsDelta(3, 1, 1, 1, 1));
+
+        statsService.record(1, delta);
+
+        verify(repository).save(argThat(stats -> stats.getUserId() == 1 && stats.getTotal() == 3 && stats.getCompleted() == 1));
+    }
+
+    @Test
+    void testGetStats_ReadsCounterRowAndCountsOverdueNow() {
+        TodoStats stats = new TodoStats(1, 5, 2, 1, 3, 1);
+        when(repository.findById(1)).thenReturn(Optional.of(stats));
+        when(todoRepository.countByUserIdAndCompletedFalseAndDueDateLessThanEqual(eq(1), any())).thenReturn(1L);
+
+        TodoStatsResponse response = statsService.getStats(1);
+
+        assertEquals(5, response.total());
+        assertEquals(2, response.completed());
+        assertEquals(3, response.open());
+        assertEquals(1, response.overdue());
+        assertEquals(3L, response.byPriority().get(Priority.MEDIUM));
+        verify(todoRepository).countByUserIdAndCompletedFalseAndDueDateLessThanEqual(1, response.overdueAsOf());
+        verify(todoRepository, never()).countStatsByUserId(any());
+    }
+
+    @Test
+    void testGetStats_CountsMissingRowWithoutWriting() {
+        when(repository.findById(1)).thenReturn(Optional.empty());
+        when(todoRepository.countStatsByUserId(1)).thenReturn(new TodoStatsDelta(3, 1, 1, 1, 1));
+
+        TodoStatsResponse response = statsService.getStats(1);
+
+        assertEquals(3, response.total());
+        assertEquals(2, response.open());
+        verify(repository, never()).save(any());
+        verify(repository, never()).findForUpdateByUserId(any());
+    }
+
+    @Test
+    void testReconcile_RebuildsUsersInBatches() {
+        when(userRepository.findIdsAfter(0, Limit.of(2))).thenReturn(List.of(1, 2));
+        when(userRepository.findIdsAfter(2, Limit.of(2))).thenReturn(List.of(3));
+        when(repository.findForUpdateByUserIdIn(List.of(1, 2))).thenReturn(List.of(new TodoStats(1, 9, 9, 9, 9, 9)));
+        when(todoRepository.countStatsByUserIdIn(List.of(1, 2)))
+                .thenReturn(List.of(new UserTodoStats(1, 2, 1, 0, 2, 0)));
+        when(todoRepository.countStatsByUserIdIn(List.of(3)))
+                .thenReturn(List.of(new UserTodoStats(3, 1, 0, 1, 0, 0)));
+
+        statsService.reconcile();
+
+        verify(repository).saveAll(argThat(batch -> batch instanceof List<TodoStats> stats
+                && stats.size() == 2
+                && stats.get(0).getTotal() == 2 && stats.get(0).getMediumPriority() == 2
+                && stats.get(1).getUserId() == 2 && stats.get(1).getTotal() == 0));
+        verify(repository).saveAll(argThat(batch -> batch instanceof List<TodoStats> stats
+                && stats.size() == 1 && stats.get(0).getLowPriority() == 1));
+        verify(userRepository, never()).findIdsAfter(eq(3), any());
+        verify(repository, never()).findForUpdateByUserId(any());
+    }
+}